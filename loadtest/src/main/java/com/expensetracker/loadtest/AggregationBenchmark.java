@@ -0,0 +1,137 @@
+package com.expensetracker.loadtest;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.util.MinorUnits;
+import com.expensetracker.util.SpendAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JMH comparison of a range summary computed the way analytics used to, with BigDecimal streams and
+ * groupingBy, against the API's {@link SpendAccumulator} over primitive minor units. Run with the GC
+ * profiler, so {@code gc.alloc.rate.norm} reports the bytes each path allocates per summary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class AggregationBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    @Param("10000")
+    public int expenses;
+
+    private List<Expense> rows;
+
+    public static void run(LoadTestConfig config) throws Exception {
+        // Forked JVMs take java.class.path, which under exec:java is Maven's launcher rather than this module
+        if (AggregationBenchmark.class.getClassLoader() instanceof URLClassLoader loader) {
+            System.setProperty("java.class.path", Arrays.stream(loader.getURLs())
+                    .map(AggregationBenchmark::toPath)
+                    .collect(Collectors.joining(System.getProperty("path.separator"))));
+        }
+        Options options = new OptionsBuilder()
+                .include(AggregationBenchmark.class.getName())
+                .param("expenses", config.get("expenses"))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Expense.PaymentMethod[] methods = Expense.PaymentMethod.values();
+        int days = (int) (END.toEpochDay() - START.toEpochDay()) + 1;
+        rows = new ArrayList<>(expenses);
+        for (int i = 0; i < expenses; i++) {
+            rows.add(Expense.builder()
+                    .id(Integer.toString(i))
+                    .categoryId("category-" + random.nextInt(12))
+                    .amount(BigDecimal.valueOf(50 + random.nextInt(50_000), MinorUnits.SCALE))
+                    .expenseDate(START.plusDays(random.nextInt(days)))
+                    .paymentMethod(methods[random.nextInt(methods.length)])
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalStreams(Blackhole blackhole) {
+        BigDecimal total = rows.stream().map(Expense::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        blackhole.consume(total);
+        blackhole.consume(rows.stream().map(Expense::getAmount).max(BigDecimal::compareTo).orElse(BigDecimal.ZERO));
+        blackhole.consume(rows.stream().map(Expense::getAmount).min(BigDecimal::compareTo).orElse(BigDecimal.ZERO));
+
+        Map<String, List<Expense>> byCategory = rows.stream()
+                .collect(Collectors.groupingBy(e -> e.getCategoryId() != null ? e.getCategoryId() : "uncategorized"));
+        byCategory.values().forEach(group -> blackhole.consume(
+                group.stream().map(Expense::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add)));
+
+        Map<String, List<Expense>> byMonth = rows.stream()
+                .collect(Collectors.groupingBy(e -> e.getExpenseDate().getYear() + "-"
+                        + String.format("%02d", e.getExpenseDate().getMonthValue())));
+        byMonth.values().forEach(group -> blackhole.consume(
+                group.stream().map(Expense::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add)));
+
+        blackhole.consume(rows.stream().collect(Collectors.groupingBy(
+                e -> e.getPaymentMethod() != null ? e.getPaymentMethod().name() : "UNKNOWN",
+                Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add))));
+    }
+
+    @Benchmark
+    public void minorUnitAccumulator(Blackhole blackhole) {
+        SpendAccumulator spend = new SpendAccumulator(START, END).addAll(rows);
+        // Results become BigDecimal only here, as when the response is built
+        blackhole.consume(MinorUnits.toAmount(spend.getTotal()));
+        blackhole.consume(MinorUnits.toAmount(spend.getHighest()));
+        blackhole.consume(MinorUnits.toAmount(spend.getLowest()));
+        for (int i = 0; i < spend.getCategoryCount(); i++) {
+            blackhole.consume(MinorUnits.toAmount(spend.getCategoryTotal(i)));
+        }
+        for (int i = 0; i < spend.getMonthCount(); i++) {
+            blackhole.consume(MinorUnits.toAmount(spend.getMonthTotal(i)));
+        }
+        for (int i = 0; i < spend.getPaymentMethodCount(); i++) {
+            blackhole.consume(MinorUnits.toAmount(spend.getPaymentMethodTotal(i)));
+        }
+    }
+
+    private static String toPath(URL url) {
+        try {
+            return Path.of(url.toURI()).toString();
+        } catch (Exception e) {
+            return url.getPath();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.expensetracker.loadtest;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Writes synthetic users, categories, budgets and expenses straight into MongoDB in the layout the API
+ * maps. Expense counts per user follow a Zipf curve, so a few heavy users own most of the rows. Dates
+ * lean towards the recent past, amounts are log-normal per category, and the same seed always produces
+ * the same data set.
+ */
+public final class DataSeeder {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    record CategoryProfile(String name, String color, double weight, double median, double sigma,
+            String... descriptions) {
+    }
+
+    static final List<CategoryProfile> CATEGORIES = List.of(
+            new CategoryProfile("Food & Dining", "#ef4444", 30, 18, 0.7, "Lunch", "Groceries", "Coffee", "Dinner out", "Takeaway"),
+            new CategoryProfile("Transport", "#f59e0b", 18, 12, 0.8, "Fuel", "Metro card", "Taxi", "Parking"),
+            new CategoryProfile("Shopping", "#8b5cf6", 14, 45, 1.0, "Clothes", "Electronics", "Household items", "Online order"),
+            new CategoryProfile("Entertainment", "#ec4899", 10, 25, 0.8, "Movie tickets", "Streaming subscription", "Concert", "Games"),
+            new CategoryProfile("Utilities", "#0ea5e9", 8, 70, 0.4, "Electricity bill", "Internet", "Phone bill", "Water bill"),
+            new CategoryProfile("Health", "#10b981", 6, 40, 0.9, "Pharmacy", "Doctor visit", "Gym membership"),
+            new CategoryProfile("Housing", "#6366f1", 4, 900, 0.3, "Rent", "Home repair", "Furniture"),
+            new CategoryProfile("Gifts", "#f97316", 4, 35, 0.7, "Birthday gift", "Donation"),
+            new CategoryProfile("Travel", "#14b8a6", 3, 250, 1.0, "Flight", "Hotel", "Train tickets"),
+            new CategoryProfile("Education", "#a855f7", 3, 60, 0.8, "Books", "Online course"));
+
+    private static final String[] PAYMENT_METHODS = { "CREDIT_CARD", "DEBIT_CARD", "UPI", "CASH", "BANK_TRANSFER", "OTHER" };
+    private static final double[] PAYMENT_WEIGHTS = { 35, 25, 20, 12, 6, 2 };
+
+    private final LoadTestConfig config;
+    private final Random random;
+
+    public DataSeeder(LoadTestConfig config) {
+        this.config = config;
+        this.random = new Random(config.getInt("seed"));
+    }
+
+    public void seed() {
+        ConnectionString uri = new ConnectionString(config.get("mongo-uri"));
+        String databaseName = uri.getDatabase();
+        if (databaseName == null) {
+            throw new IllegalArgumentException("--mongo-uri must name a database");
+        }
+
+        try (MongoClient client = MongoClients.create(uri)) {
+            MongoDatabase database = client.getDatabase(databaseName);
+            if (config.getBoolean("drop")) {
+                // Never drop something that might be real data
+                if (!databaseName.contains("loadtest")) {
+                    throw new IllegalArgumentException("Refusing to drop database '" + databaseName
+                            + "'; use a name containing 'loadtest' or pass --drop false");
+                }
+                database.drop();
+            }
+            seed(database);
+        }
+    }
+
+    private void seed(MongoDatabase database) {
+        long started = System.nanoTime();
+        int users = config.getInt("users");
+        int maxExpenses = config.getInt("max-expenses-per-user");
+        int minExpenses = config.getInt("min-expenses-per-user");
+        double skew = config.getDouble("skew");
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusMonths(config.getInt("history-months"));
+        int historyDays = (int) ChronoUnit.DAYS.between(firstDay, today);
+
+        // Hash once; every synthetic user shares the password
+        String passwordHash = BCrypt.hashpw(config.get("password"), BCrypt.gensalt(10));
+
+        List<Integer> ranks = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            ranks.add(i);
+        }
+        Collections.shuffle(ranks, random);
+
+        Batch userBatch = new Batch(database.getCollection("users"));
+        Batch categoryBatch = new Batch(database.getCollection("categories"));
+        Batch budgetBatch = new Batch(database.getCollection("budgets"));
+        Batch expenseBatch = new Batch(database.getCollection("expenses"));
+
+        for (int i = 0; i < users; i++) {
+            String userId = new ObjectId().toHexString();
+            LocalDateTime createdAt = firstDay.atStartOfDay().minusDays(random.nextInt(30));
+            userBatch.add(new Document("_id", new ObjectId(userId))
+                    .append("email", email(i))
+                    .append("password", passwordHash)
+                    .append("firstName", "Load")
+                    .append("lastName", "User" + i)
+                    .append("role", "USER")
+                    .append("preferredCurrency", "USD")
+                    .append("isActive", true)
+                    .append("lastActiveAt", date(LocalDateTime.now().minusHours(random.nextInt(24 * 14))))
+                    .append("createdAt", date(createdAt))
+                    .append("updatedAt", date(createdAt)));
+
+            Map<String, String> categoryIds = new HashMap<>();
+            for (CategoryProfile profile : CATEGORIES) {
+                ObjectId categoryId = new ObjectId();
+                categoryIds.put(profile.name(), categoryId.toHexString());
+                categoryBatch.add(new Document("_id", categoryId)
+                        .append("userId", userId)
+                        .append("name", profile.name())
+                        .append("color", profile.color())
+                        .append("isDefault", false)
+                        .append("createdAt", date(createdAt))
+                        .append("updatedAt", date(createdAt)));
+            }
+
+            int expenses = Math.max(minExpenses, (int) Math.round(maxExpenses / Math.pow(ranks.get(i) + 1, skew)));
+            Map<String, BigDecimal> lastQuarterByCategory = new HashMap<>();
+            for (int e = 0; e < expenses; e++) {
+                CategoryProfile profile = pick(CATEGORIES, random);
+                // A power above 1 on the uniform draw puts more expenses in recent months
+                int daysBack = (int) (historyDays * Math.pow(random.nextDouble(), 1.6));
+                LocalDate expenseDate = today.minusDays(daysBack);
+                BigDecimal amount = BigDecimal.valueOf(profile.median() * Math.exp(profile.sigma() * random.nextGaussian()))
+                        .max(BigDecimal.ONE)
+                        .setScale(2, RoundingMode.HALF_UP);
+                if (daysBack < 90) {
+                    lastQuarterByCategory.merge(profile.name(), amount, BigDecimal::add);
+                }
+
+                LocalDateTime createdAtExpense = expenseDate.atTime(8 + random.nextInt(14), random.nextInt(60));
+                expenseBatch.add(new Document("_id", new ObjectId())
+                        .append("userId", userId)
+                        .append("categoryId", categoryIds.get(profile.name()))
+                        .append("amount", new Decimal128(amount))
+                        .append("currency", "USD")
+                        .append("description", profile.descriptions()[random.nextInt(profile.descriptions().length)])
+                        .append("expenseDate", date(expenseDate.atStartOfDay()))
+                        .append("paymentMethod", PAYMENT_METHODS[pickIndex(PAYMENT_WEIGHTS, random)])
+                        .append("isRecurring", false)
+                        .append("createdAt", date(createdAtExpense))
+                        .append("updatedAt", date(createdAtExpense)));
+            }
+
+            BigDecimal monthlyTotal = lastQuarterByCategory.values().stream()
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_UP);
+            budgetBatch.add(budget(userId, null, "Monthly spending", "MONTHLY", monthlyTotal.multiply(BigDecimal.valueOf(1.1)), today));
+            budgetBatch.add(budget(userId, categoryIds.get("Food & Dining"), "Food", "MONTHLY",
+                    lastQuarterByCategory.getOrDefault("Food & Dining", BigDecimal.ZERO).divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_UP),
+                    today));
+            budgetBatch.add(budget(userId, categoryIds.get("Transport"), "Transport", "QUARTERLY",
+                    lastQuarterByCategory.getOrDefault("Transport", BigDecimal.ZERO).multiply(BigDecimal.valueOf(0.9)), today));
+        }
+
+        userBatch.flush();
+        categoryBatch.flush();
+        budgetBatch.flush();
+        expenseBatch.flush();
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Seeded %d users, %d categories, %d budgets and %d expenses in %.1fs (%.0f docs/s)%n",
+                userBatch.written, categoryBatch.written, budgetBatch.written, expenseBatch.written, seconds,
+                (userBatch.written + categoryBatch.written + budgetBatch.written + expenseBatch.written) / seconds);
+        System.out.printf("Log in as %s .. %s with password %s%n", email(0), email(users - 1), config.get("password"));
+    }
+
+    public static String email(int index) {
+        return "loadtest-" + index + "@example.com";
+    }
+
+    private Document budget(String userId, String categoryId, String name, String periodType, BigDecimal limit,
+            LocalDate today) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        LocalDate startDate = periodType.equals("QUARTERLY")
+                ? today.withMonth(((today.getMonthValue() - 1) / 3) * 3 + 1).withDayOfMonth(1)
+                : today.withDayOfMonth(1);
+        return new Document("_id", new ObjectId())
+                .append("userId", userId)
+                .append("categoryId", categoryId)
+                .append("name", name)
+                .append("limitAmount", new Decimal128(limit.max(BigDecimal.TEN).setScale(2, RoundingMode.HALF_UP)))
+                .append("periodType", periodType)
+                .append("startDate", date(startDate.atStartOfDay()))
+                .append("alertThreshold", 80)
+                .append("isActive", true)
+                .append("createdAt", date(createdAt))
+                .append("updatedAt", date(createdAt));
+    }
+
+    private static CategoryProfile pick(List<CategoryProfile> profiles, Random random) {
+        double[] weights = new double[profiles.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = profiles.get(i).weight();
+        }
+        return profiles.get(pickIndex(weights, random));
+    }
+
+    private static int pickIndex(double[] weights, Random random) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double at = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            at -= weights[i];
+            if (at < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    // LocalDate and LocalDateTime are stored the way Spring Data writes them: as instants in the JVM's zone
+    private static Date date(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZONE).toInstant());
+    }
+
+    private static final class Batch {
+        private final MongoCollection<Document> collection;
+        private final List<Document> pending = new ArrayList<>(BATCH_SIZE);
+        private long written;
+
+        Batch(MongoCollection<Document> collection) {
+            this.collection = collection;
+        }
+
+        void add(Document document) {
+            pending.add(document);
+            if (pending.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!pending.isEmpty()) {
+                collection.insertMany(pending, new InsertManyOptions().ordered(false));
+                written += pending.size();
+                pending.clear();
+            }
+        }
+    }
+}
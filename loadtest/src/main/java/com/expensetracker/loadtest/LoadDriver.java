@@ -0,0 +1,223 @@
+package com.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs in a pool of seeded users and drives the API with a fixed number of closed-loop workers. Each
+ * scenario first runs on its own, so the server's allocation rate can be attributed to it, and then
+ * the whole mix runs together. Latencies are recorded per scenario in HdrHistograms.
+ */
+public final class LoadDriver {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final int LOGIN_CONCURRENCY = 4;
+    private static final String ALLOCATED_METRIC = "jvm.gc.memory.allocated";
+
+    private record VirtualUser(String token, String receiptExpenseId, List<String> budgetIds, List<String> categoryIds) {
+    }
+
+    private static final class Stats {
+        final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final Map<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+    }
+
+    private final LoadTestConfig config;
+    private final ApiClient client;
+    private final byte[] receipt;
+
+    public LoadDriver(LoadTestConfig config) {
+        this.config = config;
+        this.client = new ApiClient(config.get("base-url"));
+        this.receipt = syntheticPng(new Random(config.getInt("seed")), 20 * 1024);
+    }
+
+    public void run() throws Exception {
+        List<VirtualUser> users = login(config.getInt("active-users"));
+        Map<Scenario, Integer> mix = config.getMix();
+        int concurrency = config.getInt("concurrency");
+        Duration phase = config.getDuration("phase");
+
+        System.out.printf("Logged in %d users; %d workers, %ss warmup, %ss per phase%n",
+                users.size(), concurrency, config.getDuration("warmup").toSeconds(), phase.toSeconds());
+        runPhase(users, mix, concurrency, config.getDuration("warmup"));
+
+        if (config.getBoolean("isolate")) {
+            for (Scenario scenario : mix.keySet()) {
+                report(scenario.getOptionName(), runPhase(users, Map.of(scenario, 1), concurrency, phase));
+            }
+        }
+        report("mixed", runPhase(users, mix, concurrency, phase));
+    }
+
+    private record PhaseResult(Map<Scenario, Stats> stats, double seconds, double allocatedBytes) {
+    }
+
+    private PhaseResult runPhase(List<VirtualUser> users, Map<Scenario, Integer> mix, int concurrency,
+            Duration duration) throws InterruptedException {
+        Map<Scenario, Stats> stats = new EnumMap<>(Scenario.class);
+        mix.keySet().forEach(scenario -> stats.put(scenario, new Stats()));
+        Scenario[] wheel = wheel(mix);
+
+        double allocatedBefore = client.metric(ALLOCATED_METRIC);
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    VirtualUser user = users.get(random.nextInt(users.size()));
+                    Scenario scenario = wheel[random.nextInt(wheel.length)];
+                    Stats scenarioStats = stats.get(scenario);
+                    long start = System.nanoTime();
+                    try {
+                        execute(scenario, user, random);
+                        scenarioStats.latencies.recordValue(
+                                Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), MAX_LATENCY_MICROS));
+                    } catch (ApiClient.ApiException e) {
+                        scenarioStats.errors.increment();
+                        scenarioStats.errorsByStatus.computeIfAbsent(e.getStatus(), status -> new LongAdder()).increment();
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS);
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        double allocated = client.metric(ALLOCATED_METRIC) - allocatedBefore;
+        return new PhaseResult(stats, seconds, allocated);
+    }
+
+    private void execute(Scenario scenario, VirtualUser user, ThreadLocalRandom random) {
+        LocalDate today = LocalDate.now();
+        switch (scenario) {
+            case LIST -> client.get(user.token(), "/api/v1/expenses?page=" + random.nextInt(5) + "&size=20");
+            case CREATE -> client.post(user.token(), "/api/v1/expenses", Map.of(
+                    "amount", Math.round(random.nextDouble(1, 200) * 100) / 100.0,
+                    "description", "Load test expense",
+                    "expenseDate", today.minusDays(random.nextInt(30)).toString(),
+                    "categoryId", user.categoryIds().get(random.nextInt(user.categoryIds().size())),
+                    "paymentMethod", "CREDIT_CARD"));
+            case SUMMARY -> {
+                // The ranges dashboards ask for: month to date, quarter, year to date
+                LocalDate start = switch (random.nextInt(3)) {
+                    case 0 -> today.withDayOfMonth(1);
+                    case 1 -> today.minusDays(90);
+                    default -> today.withDayOfYear(1);
+                };
+                client.get(user.token(), "/api/v1/analytics/summary?startDate=" + start + "&endDate=" + today);
+            }
+            case DASHBOARD -> client.get(user.token(),
+                    "/api/v1/analytics/dashboard?startDate=" + today.withDayOfMonth(1) + "&endDate=" + today);
+            case BUDGET_STATUS -> client.get(user.token(),
+                    "/api/v1/budgets/" + user.budgetIds().get(random.nextInt(user.budgetIds().size())) + "/status");
+            case RECEIPT -> client.upload(user.token(), "/api/v1/expenses/" + user.receiptExpenseId() + "/receipt",
+                    "receipt.png", "image/png", receipt);
+        }
+    }
+
+    private List<VirtualUser> login(int count) throws Exception {
+        String password = config.get("password");
+        // Logins hash passwords on a small server-side pool; a handful at a time avoids 503s
+        ExecutorService pool = Executors.newFixedThreadPool(LOGIN_CONCURRENCY);
+        List<Future<VirtualUser>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String email = DataSeeder.email(i);
+            futures.add(pool.submit(() -> {
+                String token = client.login(email, password);
+                JsonNode expenses = client.get(token, "/api/v1/expenses?size=1");
+                return new VirtualUser(token,
+                        expenses.path("content").path(0).path("id").asText(),
+                        ids(client.get(token, "/api/v1/budgets")),
+                        ids(client.get(token, "/api/v1/categories")));
+            }));
+        }
+        pool.shutdown();
+
+        List<VirtualUser> users = new ArrayList<>();
+        for (Future<VirtualUser> future : futures) {
+            users.add(future.get());
+        }
+        return users;
+    }
+
+    private static List<String> ids(JsonNode array) {
+        List<String> ids = new ArrayList<>();
+        array.forEach(node -> ids.add(node.path("id").asText()));
+        return ids;
+    }
+
+    private static Scenario[] wheel(Map<Scenario, Integer> mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        return wheel.toArray(new Scenario[0]);
+    }
+
+    private void report(String phase, PhaseResult result) {
+        long total = 0;
+        System.out.printf("%n== %s (%.1fs) ==%n", phase, result.seconds());
+        System.out.printf("%-36s %9s %9s %7s %8s %8s %8s %8s %8s%n",
+                "scenario", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Scenario, Stats> entry : result.stats().entrySet()) {
+            Histogram latencies = entry.getValue().latencies;
+            long requests = latencies.getTotalCount();
+            total += requests;
+            System.out.printf("%-36s %9d %9.1f %7d %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                    entry.getKey().getEndpoint(), requests, requests / result.seconds(), entry.getValue().errors.sum(),
+                    millis(latencies, 50), millis(latencies, 90), millis(latencies, 99), millis(latencies, 99.9),
+                    latencies.getMaxValue() / 1000.0);
+            if (!entry.getValue().errorsByStatus.isEmpty()) {
+                System.out.printf("%-36s errors by status: %s%n", "", entry.getValue().errorsByStatus);
+            }
+        }
+
+        if (Double.isNaN(result.allocatedBytes())) {
+            System.out.printf("total %.1f req/s; server allocation n/a (start the API with ACTUATOR_ENDPOINTS=health,metrics)%n",
+                    total / result.seconds());
+        } else {
+            System.out.printf("total %.1f req/s; server allocated %.1f MB/s, %.1f KB/request%n",
+                    total / result.seconds(), result.allocatedBytes() / result.seconds() / (1 << 20),
+                    total > 0 ? result.allocatedBytes() / total / 1024 : 0.0);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * A PNG signature followed by random bytes: enough for the API's content-type check, and
+     * incompressible so uploads cost what real photos would.
+     */
+    private static byte[] syntheticPng(Random random, int size) {
+        byte[] png = new byte[size];
+        random.nextBytes(png);
+        byte[] signature = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' };
+        System.arraycopy(signature, 0, png, 0, signature.length);
+        return png;
+    }
+}
@@ -0,0 +1,32 @@
+package com.expensetracker.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Entry point: {@code mongod}, {@code seed}, {@code run}, {@code payload} or {@code aggregate}, followed by
+ * {@code --name value} options.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || args[0].equals("help")) {
+            System.out.println("Usage: LoadTest mongod|seed|run|payload|aggregate [--name value ...]");
+            System.out.print(LoadTestConfig.usage());
+            return;
+        }
+
+        LoadTestConfig config = LoadTestConfig.parse(args, 1);
+        switch (args[0]) {
+            case "mongod" -> new LocalMongo(config.get("mongod"), config.getInt("mongod-port"),
+                    Path.of(config.get("data-dir"))).runUntilStopped();
+            case "seed" -> new DataSeeder(config).seed();
+            case "run" -> new LoadDriver(config).run();
+            case "payload" -> new PayloadBenchmark(config).run();
+            case "aggregate" -> AggregationBenchmark.run(config);
+            default -> throw new IllegalArgumentException("Unknown command " + args[0]);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.expensetracker.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, given as {@code --name value}. Unknown names are rejected so a typo does not
+ * silently run with a default.
+ */
+public final class LoadTestConfig {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("mongo-uri", "mongodb://localhost:27017/expense_tracker_loadtest");
+        DEFAULTS.put("mongod", "mongod");
+        DEFAULTS.put("mongod-port", "27017");
+        DEFAULTS.put("data-dir", "target/mongo-data");
+        DEFAULTS.put("base-url", "http://localhost:8080");
+        DEFAULTS.put("users", "200");
+        DEFAULTS.put("max-expenses-per-user", "5000");
+        DEFAULTS.put("min-expenses-per-user", "20");
+        DEFAULTS.put("skew", "1.1");
+        DEFAULTS.put("history-months", "24");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("password", "LoadTest#2024");
+        DEFAULTS.put("drop", "true");
+        DEFAULTS.put("active-users", "100");
+        DEFAULTS.put("concurrency", "32");
+        DEFAULTS.put("warmup", "10s");
+        DEFAULTS.put("phase", "30s");
+        DEFAULTS.put("mix", "list=30,create=10,summary=20,dashboard=10,budget-status=25,receipt=5");
+        DEFAULTS.put("isolate", "true");
+        DEFAULTS.put("page-size", "20");
+        DEFAULTS.put("iterations", "20000");
+        DEFAULTS.put("expenses", "10000");
+    }
+
+    private final Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+
+    public static LoadTestConfig parse(String[] args, int from) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (int i = from; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got " + arg);
+            }
+            String name = arg.substring(2);
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + "; known: " + DEFAULTS.keySet());
+            }
+            config.values.put(name, args[++i]);
+        }
+        return config;
+    }
+
+    public static String usage() {
+        StringBuilder usage = new StringBuilder("Options (default):\n");
+        DEFAULTS.forEach((name, value) -> usage.append("  --").append(name).append(" (").append(value).append(")\n"));
+        return usage.toString();
+    }
+
+    public String get(String name) {
+        return values.get(name);
+    }
+
+    public int getInt(String name) {
+        return Integer.parseInt(values.get(name));
+    }
+
+    public double getDouble(String name) {
+        return Double.parseDouble(values.get(name));
+    }
+
+    public boolean getBoolean(String name) {
+        return Boolean.parseBoolean(values.get(name));
+    }
+
+    /**
+     * Durations as {@code 500ms}, {@code 30s} or {@code 2m}.
+     */
+    public Duration getDuration(String name) {
+        String value = values.get(name).trim();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    /**
+     * Scenario weights from {@code name=weight,...}; scenarios left out get weight zero.
+     */
+    public Map<Scenario, Integer> getMix() {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String part : values.get("mix").split(",")) {
+            String[] pair = part.trim().split("=");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Scenario.fromName(pair[0].trim()), weight);
+            }
+        }
+        return mix;
+    }
+}
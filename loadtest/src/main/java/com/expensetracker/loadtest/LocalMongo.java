@@ -0,0 +1,70 @@
+package com.expensetracker.loadtest;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Runs a locally installed mongod binary against a data directory under target/, so load tests never
+ * touch a shared database and need neither Docker nor a downloaded embedded server.
+ */
+public final class LocalMongo {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String binary;
+    private final int port;
+    private final Path dataDir;
+
+    public LocalMongo(String binary, int port, Path dataDir) {
+        this.binary = binary;
+        this.port = port;
+        this.dataDir = dataDir;
+    }
+
+    /**
+     * Starts mongod and blocks until it exits or this JVM is interrupted.
+     */
+    public void runUntilStopped() throws IOException, InterruptedException {
+        Files.createDirectories(dataDir);
+        Process process = new ProcessBuilder(binary,
+                "--port", String.valueOf(port),
+                "--dbpath", dataDir.toAbsolutePath().toString(),
+                "--bind_ip", "127.0.0.1",
+                "--quiet")
+                .redirectErrorStream(true)
+                .redirectOutput(dataDir.resolve("mongod.log").toFile())
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(process::destroy));
+
+        awaitReady(process);
+        System.out.printf("mongod listening on mongodb://127.0.0.1:%d (data in %s); Ctrl-C to stop%n",
+                port, dataDir.toAbsolutePath());
+        int exit = process.waitFor();
+        System.out.println("mongod exited with code " + exit + "; see " + dataDir.resolve("mongod.log"));
+    }
+
+    private void awaitReady(Process process) throws InterruptedException {
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("mongod exited with code " + process.exitValue()
+                        + "; see " + dataDir.resolve("mongod.log"));
+            }
+            try (MongoClient client = MongoClients.create("mongodb://127.0.0.1:" + port + "/?serverSelectionTimeoutMS=500")) {
+                client.getDatabase("admin").runCommand(new Document("ping", 1));
+                return;
+            } catch (RuntimeException notYet) {
+                Thread.sleep(250);
+            }
+        }
+        process.destroy();
+        throw new IllegalStateException("mongod did not accept connections within " + STARTUP_TIMEOUT.toSeconds() + "s");
+    }
+}
@@ -0,0 +1,153 @@
+package com.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.bson.types.ObjectId;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares encode CPU and bytes on the wire for an expense page in JSON, CBOR and Smile, with and
+ * without gzip. The page mirrors {@code ApiResponse<PageResponse<ExpenseResponse>>} and is drawn from
+ * the seeder's category profiles, so no server or database is needed.
+ */
+public final class PayloadBenchmark {
+
+    private record Format(String name, ObjectMapper mapper) {
+    }
+
+    private final LoadTestConfig config;
+
+    public PayloadBenchmark(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public void run() {
+        Map<String, Object> page = expensePage(new Random(config.getInt("seed")), config.getInt("page-size"));
+        int iterations = config.getInt("iterations");
+        List<Format> formats = List.of(
+                new Format("json", configure(new ObjectMapper())),
+                new Format("cbor", configure(new CBORMapper())),
+                new Format("smile", configure(new SmileMapper())));
+
+        System.out.printf("Expense page of %d items, %d encodes per format%n", config.getInt("page-size"), iterations);
+        System.out.printf("%-8s %10s %12s %10s %12s%n", "format", "bytes", "encode us", "gzip bytes", "+gzip us");
+        for (Format format : formats) {
+            // Same loop twice: the first pass only warms up the JIT
+            measure(format.mapper(), page, iterations);
+            long[] result = measure(format.mapper(), page, iterations);
+            System.out.printf("%-8s %10d %12.2f %10d %12.2f%n", format.name(),
+                    result[0], result[1] / 1000.0 / iterations, result[2], result[3] / 1000.0 / iterations);
+        }
+    }
+
+    /**
+     * Returns encoded size, total encode nanos, gzipped size and total encode-plus-gzip nanos.
+     */
+    private static long[] measure(ObjectMapper mapper, Object page, int iterations) {
+        byte[] encoded = encode(mapper, page);
+        byte[] gzipped = gzip(encoded);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            encoded = encode(mapper, page);
+        }
+        long encodeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            gzipped = gzip(encode(mapper, page));
+        }
+        long gzipNanos = System.nanoTime() - start;
+
+        return new long[] { encoded.length, encodeNanos, gzipped.length, gzipNanos };
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        // As Boot configures the API's mappers: java.time as ISO strings
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static byte[] encode(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static Map<String, Object> expensePage(Random random, int size) {
+        String userId = new ObjectId().toHexString();
+        LocalDate today = LocalDate.now();
+        List<Map<String, Object>> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            DataSeeder.CategoryProfile profile = DataSeeder.CATEGORIES.get(random.nextInt(DataSeeder.CATEGORIES.size()));
+            LocalDate expenseDate = today.minusDays(i / 2);
+            LocalDateTime createdAt = expenseDate.atTime(8 + random.nextInt(14), random.nextInt(60));
+
+            Map<String, Object> expense = new LinkedHashMap<>();
+            expense.put("id", new ObjectId().toHexString());
+            expense.put("userId", userId);
+            expense.put("categoryId", new ObjectId().toHexString());
+            expense.put("categoryName", profile.name());
+            expense.put("amount", BigDecimal.valueOf(profile.median() * Math.exp(profile.sigma() * random.nextGaussian()))
+                    .max(BigDecimal.ONE)
+                    .setScale(2, RoundingMode.HALF_UP));
+            expense.put("currency", "USD");
+            expense.put("description", profile.descriptions()[random.nextInt(profile.descriptions().length)]);
+            expense.put("expenseDate", expenseDate);
+            expense.put("paymentMethod", "CREDIT_CARD");
+            expense.put("receiptUrl", null);
+            expense.put("tags", List.of());
+            expense.put("isRecurring", false);
+            expense.put("recurrencePattern", null);
+            expense.put("nextOccurrence", null);
+            expense.put("recurringSourceId", null);
+            expense.put("createdAt", createdAt);
+            expense.put("updatedAt", createdAt);
+            content.add(expense);
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("content", content);
+        data.put("page", 0);
+        data.put("size", size);
+        data.put("totalElements", 1342L);
+        data.put("totalPages", (1342 + size - 1) / size);
+        data.put("first", true);
+        data.put("last", false);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("message", null);
+        response.put("data", data);
+        response.put("timestamp", LocalDateTime.now());
+        return response;
+    }
+}
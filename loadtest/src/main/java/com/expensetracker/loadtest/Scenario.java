@@ -0,0 +1,39 @@
+package com.expensetracker.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The endpoints the driver exercises, named as they appear in {@code --mix}.
+ */
+public enum Scenario {
+
+    LIST("list", "GET /api/v1/expenses"),
+    CREATE("create", "POST /api/v1/expenses"),
+    SUMMARY("summary", "GET /api/v1/analytics/summary"),
+    DASHBOARD("dashboard", "GET /api/v1/analytics/dashboard"),
+    BUDGET_STATUS("budget-status", "GET /api/v1/budgets/{id}/status"),
+    RECEIPT("receipt", "POST /api/v1/expenses/{id}/receipt");
+
+    private final String optionName;
+    private final String endpoint;
+
+    Scenario(String optionName, String endpoint) {
+        this.optionName = optionName;
+        this.endpoint = endpoint;
+    }
+
+    public String getOptionName() {
+        return optionName;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public static Scenario fromName(String name) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.optionName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario " + name));
+    }
+}
@@ -0,0 +1,88 @@
+package com.expensetracker.config;
+
+import com.expensetracker.model.Budget;
+import com.expensetracker.model.User;
+import com.expensetracker.service.JobCoordinator;
+import com.expensetracker.util.QueryCountListener;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Configuration
+public class MongoConfig {
+
+    /**
+     * Stores {@link BigDecimal} amounts as Decimal128 instead of Spring Data's default string encoding,
+     * so MongoDB can sum, compare and range-index them. Documents written before this change still hold
+     * strings; they are read back through the built-in String to BigDecimal conversion until
+     * {@code MoneyMigrationService} has rewritten them.
+     */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                BigDecimalToDecimal128Converter.INSTANCE,
+                Decimal128ToBigDecimalConverter.INSTANCE));
+    }
+
+    /**
+     * Counts commands per {@link com.expensetracker.util.QueryCountScope}. Registered on the sync and
+     * reactive clients alike, though only sync commands run on the thread that owns the scope.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer queryCountListenerCustomizer() {
+        return settings -> settings.addCommandListener(new QueryCountListener());
+    }
+
+    /**
+     * Stamps every saved user and budget with its job partition bucket. A new user gets its ObjectId
+     * here rather than from the driver, since the bucket is derived from it.
+     */
+    @Bean
+    public BeforeConvertCallback<User> userPartitionKeyCallback() {
+        return (user, collection) -> {
+            if (user.getId() == null) {
+                user.setId(new ObjectId().toHexString());
+            }
+            user.setPartitionKey(JobCoordinator.partitionKeyOf(user.getId()));
+            return user;
+        };
+    }
+
+    @Bean
+    public BeforeConvertCallback<Budget> budgetPartitionKeyCallback() {
+        return (budget, collection) -> {
+            budget.setPartitionKey(JobCoordinator.partitionKeyOf(budget.getUserId()));
+            return budget;
+        };
+    }
+
+    @WritingConverter
+    enum BigDecimalToDecimal128Converter implements Converter<BigDecimal, Decimal128> {
+        INSTANCE;
+
+        @Override
+        public Decimal128 convert(BigDecimal source) {
+            return new Decimal128(source);
+        }
+    }
+
+    @ReadingConverter
+    enum Decimal128ToBigDecimalConverter implements Converter<Decimal128, BigDecimal> {
+        INSTANCE;
+
+        @Override
+        public BigDecimal convert(Decimal128 source) {
+            return source.bigDecimalValue();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.response.ApiResponse;
+import com.expensetracker.dto.response.BudgetAlertResponse;
+import com.expensetracker.dto.response.PageResponse;
+import com.expensetracker.service.BudgetAlertService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/alerts")
+@RequiredArgsConstructor
+@Tag(name = "Alerts", description = "Budget alert APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class AlertController {
+
+    private final BudgetAlertService budgetAlertService;
+
+    @GetMapping
+    @Operation(summary = "Get budget alerts", description = "Returns the current user's budget alerts, newest first")
+    public ResponseEntity<ApiResponse<PageResponse<BudgetAlertResponse>>> getAlerts(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        PageResponse<BudgetAlertResponse> alerts = budgetAlertService.getAlerts(userDetails.getUsername(), page, size);
+        return ResponseEntity.ok(ApiResponse.success(alerts));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream budget alerts",
+            description = "Server-Sent Events: budget-alert for each new alert and budget-status whenever spending changes")
+    public SseEmitter streamAlerts(
+            @Parameter(description = "Id of the last alert received; later alerts are replayed")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return budgetAlertService.subscribe(userDetails.getUsername(), lastEventId);
+    }
+}
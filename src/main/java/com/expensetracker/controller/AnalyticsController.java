@@ -2,6 +2,8 @@ package com.expensetracker.controller;
 
 import com.expensetracker.dto.response.AnalyticsResponse;
 import com.expensetracker.dto.response.ApiResponse;
+import com.expensetracker.dto.response.DashboardResponse;
+import com.expensetracker.dto.response.PeriodComparisonResponse;
 import com.expensetracker.service.AnalyticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -36,6 +38,16 @@ public class AnalyticsController {
         return ResponseEntity.ok(ApiResponse.success(summary));
     }
 
+    @GetMapping("/dashboard")
+    @Operation(summary = "Get dashboard", description = "Returns the expense summary, category and monthly breakdowns, budgets and budget statuses in one response")
+    public ResponseEntity<ApiResponse<DashboardResponse>> getDashboard(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "Start date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        DashboardResponse dashboard = analyticsService.getDashboard(userDetails.getUsername(), startDate, endDate);
+        return ResponseEntity.ok(ApiResponse.success(dashboard));
+    }
+
     @GetMapping("/by-category")
     @Operation(summary = "Get expenses by category", description = "Returns expense breakdown by category")
     public ResponseEntity<ApiResponse<List<AnalyticsResponse.CategoryBreakdown>>> getExpensesByCategory(
@@ -68,4 +80,27 @@ public class AnalyticsController {
                 userDetails.getUsername(), startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(trend));
     }
+
+    @GetMapping("/compare")
+    @Operation(summary = "Compare spending periods", description = "Compares a date range with the preceding period and the same range a year earlier")
+    public ResponseEntity<ApiResponse<PeriodComparisonResponse>> comparePeriods(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "Start date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        PeriodComparisonResponse comparison = analyticsService.getPeriodComparison(
+                userDetails.getUsername(), startDate, endDate);
+        return ResponseEntity.ok(ApiResponse.success(comparison));
+    }
+
+    @GetMapping("/rolling")
+    @Operation(summary = "Get rolling averages", description = "Returns daily spending with a trailing moving average for a date range")
+    public ResponseEntity<ApiResponse<List<AnalyticsResponse.DailyTrend>>> getRollingAverages(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "Start date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Window size in days") @RequestParam(defaultValue = "30") int windowDays) {
+        List<AnalyticsResponse.DailyTrend> trends = analyticsService.getRollingAverages(
+                userDetails.getUsername(), startDate, endDate, windowDays);
+        return ResponseEntity.ok(ApiResponse.success(trends));
+    }
 }
@@ -4,10 +4,12 @@ import com.expensetracker.dto.request.LoginRequest;
 import com.expensetracker.dto.request.RegisterRequest;
 import com.expensetracker.dto.response.ApiResponse;
 import com.expensetracker.dto.response.AuthResponse;
+import com.expensetracker.filter.RateLimitFilter;
 import com.expensetracker.service.AuthService;
 import com.expensetracker.service.EmailService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -33,8 +35,9 @@ public class AuthController {
 
     @PostMapping("/login")
     @Operation(summary = "Login user", description = "Authenticates user and returns JWT tokens")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
+        AuthResponse response = authService.login(request, RateLimitFilter.clientId(httpRequest));
         return ResponseEntity.ok(ApiResponse.success("Login successful", response));
     }
 
@@ -45,6 +48,13 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success("Token refreshed successfully", response));
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revokes the refresh token and every access token issued with it")
+    public ResponseEntity<ApiResponse<Void>> logout(@RequestParam String refreshToken) {
+        authService.logout(refreshToken);
+        return ResponseEntity.ok(ApiResponse.success("Logged out successfully"));
+    }
+
     @PostMapping("/test-email")
     @Operation(summary = "Test email", description = "Sends a test email to verify email configuration")
     public ResponseEntity<ApiResponse<String>> testEmail(@RequestParam String email) {
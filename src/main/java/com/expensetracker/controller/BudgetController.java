@@ -2,10 +2,13 @@ package com.expensetracker.controller;
 
 import com.expensetracker.dto.request.BudgetRequest;
 import com.expensetracker.dto.response.ApiResponse;
+import com.expensetracker.dto.response.BudgetForecastResponse;
 import com.expensetracker.dto.response.BudgetResponse;
 import com.expensetracker.dto.response.BudgetStatusResponse;
 import com.expensetracker.service.BudgetService;
+import com.expensetracker.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -26,6 +29,7 @@ import java.util.List;
 public class BudgetController {
 
     private final BudgetService budgetService;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping
     @Operation(summary = "Get all budgets", description = "Returns all budgets for the current user")
@@ -48,10 +52,15 @@ public class BudgetController {
     @Operation(summary = "Create budget", description = "Creates a new budget")
     public ResponseEntity<ApiResponse<BudgetResponse>> createBudget(
             @Valid @RequestBody BudgetRequest request,
+            @Parameter(description = "Client-generated key; retries with the same key return the original response")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal UserDetails userDetails) {
-        BudgetResponse budget = budgetService.createBudget(userDetails.getUsername(), request);
+        String userId = userDetails.getUsername();
+        IdempotencyService.Result<BudgetResponse> budget = idempotencyService.execute(userId, idempotencyKey,
+                "create-budget", request, BudgetResponse.class, () -> budgetService.createBudget(userId, request));
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Budget created successfully", budget));
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(budget.replayed()))
+                .body(ApiResponse.success("Budget created successfully", budget.value()));
     }
 
     @PutMapping("/{id}")
@@ -73,6 +82,14 @@ public class BudgetController {
         return ResponseEntity.ok(ApiResponse.success("Budget deleted successfully"));
     }
 
+    @GetMapping("/status")
+    @Operation(summary = "Get all budget statuses", description = "Returns the current status of every active budget")
+    public ResponseEntity<ApiResponse<List<BudgetStatusResponse>>> getBudgetStatuses(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        List<BudgetStatusResponse> statuses = budgetService.getActiveBudgetStatuses(userDetails.getUsername());
+        return ResponseEntity.ok(ApiResponse.success(statuses));
+    }
+
     @GetMapping("/{id}/status")
     @Operation(summary = "Get budget status", description = "Returns the current status of a budget including spent amount and percentage")
     public ResponseEntity<ApiResponse<BudgetStatusResponse>> getBudgetStatus(
@@ -81,4 +98,21 @@ public class BudgetController {
         BudgetStatusResponse status = budgetService.getBudgetStatus(id, userDetails.getUsername());
         return ResponseEntity.ok(ApiResponse.success(status));
     }
+
+    @GetMapping("/forecast")
+    @Operation(summary = "Get budget forecasts", description = "Projects end-of-period spend for all active budgets from the daily run-rate and recurring expenses")
+    public ResponseEntity<ApiResponse<List<BudgetForecastResponse>>> getBudgetForecasts(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        List<BudgetForecastResponse> forecasts = budgetService.getBudgetForecasts(userDetails.getUsername());
+        return ResponseEntity.ok(ApiResponse.success(forecasts));
+    }
+
+    @GetMapping("/{id}/forecast")
+    @Operation(summary = "Get budget forecast", description = "Projects end-of-period spend for a budget from the daily run-rate and recurring expenses")
+    public ResponseEntity<ApiResponse<BudgetForecastResponse>> getBudgetForecast(
+            @PathVariable String id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        BudgetForecastResponse forecast = budgetService.getBudgetForecast(id, userDetails.getUsername());
+        return ResponseEntity.ok(ApiResponse.success(forecast));
+    }
 }
@@ -1,8 +1,12 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.dto.request.CategoryMergeRequest;
 import com.expensetracker.dto.request.CategoryRequest;
 import com.expensetracker.dto.response.ApiResponse;
+import com.expensetracker.dto.response.CategoryMergeJobResponse;
 import com.expensetracker.dto.response.CategoryResponse;
+import com.expensetracker.model.CategoryMergeJob;
+import com.expensetracker.service.CategoryMergeService;
 import com.expensetracker.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -25,6 +29,7 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CategoryMergeService categoryMergeService;
 
     @GetMapping
     @Operation(summary = "Get all categories", description = "Returns all categories for the current user")
@@ -71,4 +76,25 @@ public class CategoryController {
         categoryService.deleteCategory(id, userDetails.getUsername());
         return ResponseEntity.ok(ApiResponse.success("Category deleted successfully"));
     }
+
+    @PostMapping("/{id}/merge")
+    @Operation(summary = "Merge category",
+            description = "Moves all expenses and budgets into the target category; large categories continue in the background")
+    public ResponseEntity<ApiResponse<CategoryMergeJobResponse>> mergeCategory(
+            @PathVariable String id,
+            @Valid @RequestBody CategoryMergeRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        CategoryMergeJobResponse job = categoryMergeService.startMerge(id, userDetails.getUsername(), request);
+        HttpStatus status = job.getStatus() == CategoryMergeJob.Status.COMPLETED ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(ApiResponse.success("Category merge " + job.getStatus().name().toLowerCase(), job));
+    }
+
+    @GetMapping("/merge-jobs/{jobId}")
+    @Operation(summary = "Get merge progress", description = "Returns the status and progress of a category merge")
+    public ResponseEntity<ApiResponse<CategoryMergeJobResponse>> getMergeJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        CategoryMergeJobResponse job = categoryMergeService.getJob(jobId, userDetails.getUsername());
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
 }
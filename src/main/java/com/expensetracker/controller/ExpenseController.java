@@ -1,11 +1,14 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.dto.request.BulkExpenseRequest;
 import com.expensetracker.dto.request.ExpenseRequest;
 import com.expensetracker.dto.response.ApiResponse;
+import com.expensetracker.dto.response.BulkOperationResponse;
 import com.expensetracker.dto.response.ExpenseResponse;
 import com.expensetracker.dto.response.PageResponse;
 import com.expensetracker.service.ExpenseService;
 import com.expensetracker.service.FileStorageService;
+import com.expensetracker.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -33,6 +36,7 @@ public class ExpenseController {
 
     private final ExpenseService expenseService;
     private final FileStorageService fileStorageService;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping
     @Operation(summary = "Get all expenses", description = "Returns paginated list of expenses with optional filters")
@@ -66,10 +70,15 @@ public class ExpenseController {
     @Operation(summary = "Create expense", description = "Creates a new expense")
     public ResponseEntity<ApiResponse<ExpenseResponse>> createExpense(
             @Valid @RequestBody ExpenseRequest request,
+            @Parameter(description = "Client-generated key; retries with the same key return the original response")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal UserDetails userDetails) {
-        ExpenseResponse expense = expenseService.createExpense(userDetails.getUsername(), request);
+        String userId = userDetails.getUsername();
+        IdempotencyService.Result<ExpenseResponse> expense = idempotencyService.execute(userId, idempotencyKey,
+                "create-expense", request, ExpenseResponse.class, () -> expenseService.createExpense(userId, request));
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Expense created successfully", expense));
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(expense.replayed()))
+                .body(ApiResponse.success("Expense created successfully", expense.value()));
     }
 
     @PutMapping("/{id}")
@@ -91,6 +100,25 @@ public class ExpenseController {
         return ResponseEntity.ok(ApiResponse.success("Expense deleted successfully"));
     }
 
+    @PostMapping("/bulk/update")
+    @Operation(summary = "Bulk update expenses",
+            description = "Applies categoryId, paymentMethod, currency or tags to every expense selected by ids and/or filter")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> bulkUpdateExpenses(
+            @Valid @RequestBody BulkExpenseRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        BulkOperationResponse response = expenseService.bulkUpdate(userDetails.getUsername(), request);
+        return ResponseEntity.ok(ApiResponse.success("Expenses updated successfully", response));
+    }
+
+    @PostMapping("/bulk/delete")
+    @Operation(summary = "Bulk delete expenses", description = "Deletes every expense selected by ids and/or filter")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> bulkDeleteExpenses(
+            @Valid @RequestBody BulkExpenseRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        BulkOperationResponse response = expenseService.bulkDelete(userDetails.getUsername(), request);
+        return ResponseEntity.ok(ApiResponse.success("Expenses deleted successfully", response));
+    }
+
     @PostMapping(value = "/{id}/receipt", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Upload receipt", description = "Uploads a receipt image for an expense")
     public ResponseEntity<ApiResponse<ExpenseResponse>> uploadReceipt(
@@ -0,0 +1,60 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.response.AnalyticsResponse;
+import com.expensetracker.dto.response.ApiResponse;
+import com.expensetracker.service.ReactiveAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/reactive/analytics")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+@Tag(name = "Reactive", description = "Non-blocking read APIs backed by reactive MongoDB")
+@SecurityRequirement(name = "bearerAuth")
+public class ReactiveAnalyticsController {
+
+    private final ReactiveAnalyticsService reactiveAnalyticsService;
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get expense summary", description = "Returns comprehensive expense summary for a date range")
+    public Mono<ApiResponse<AnalyticsResponse>> getExpenseSummary(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "Start date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return reactiveAnalyticsService.getExpenseSummary(userDetails.getUsername(), startDate, endDate)
+                .map(ApiResponse::success);
+    }
+
+    @GetMapping("/by-category")
+    @Operation(summary = "Get expenses by category", description = "Returns expense breakdown by category")
+    public Mono<ApiResponse<List<AnalyticsResponse.CategoryBreakdown>>> getExpensesByCategory(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "Start date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return reactiveAnalyticsService.getCategoryWiseExpenses(userDetails.getUsername(), startDate, endDate)
+                .map(ApiResponse::success);
+    }
+
+    @GetMapping("/by-month")
+    @Operation(summary = "Get monthly expenses", description = "Returns monthly expense trends")
+    public Mono<ApiResponse<List<AnalyticsResponse.MonthlyTrend>>> getMonthlyExpenses(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "Start date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return reactiveAnalyticsService.getMonthlyExpenses(userDetails.getUsername(), startDate, endDate)
+                .map(ApiResponse::success);
+    }
+}
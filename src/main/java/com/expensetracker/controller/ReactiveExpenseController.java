@@ -0,0 +1,55 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.response.BudgetResponse;
+import com.expensetracker.dto.response.ExpenseResponse;
+import com.expensetracker.service.ReactiveExpenseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/reactive")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+@Tag(name = "Reactive", description = "Non-blocking read APIs backed by reactive MongoDB")
+@SecurityRequirement(name = "bearerAuth")
+public class ReactiveExpenseController {
+
+    private final ReactiveExpenseService reactiveExpenseService;
+
+    @GetMapping(value = "/expenses", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @Operation(summary = "Stream expenses", description = "Streams expenses newest first; request application/x-ndjson to receive them as they are read")
+    public Flux<ExpenseResponse> streamExpenses(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "Filter by category ID") @RequestParam(required = false) String categoryId,
+            @Parameter(description = "Filter by start date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Filter by end date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return reactiveExpenseService.streamExpenses(userDetails.getUsername(), categoryId, startDate, endDate);
+    }
+
+    @GetMapping("/expenses/{id}")
+    @Operation(summary = "Get expense by ID", description = "Returns a specific expense by ID")
+    public Mono<ExpenseResponse> getExpenseById(
+            @PathVariable String id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return reactiveExpenseService.getExpenseById(id, userDetails.getUsername());
+    }
+
+    @GetMapping(value = "/budgets", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @Operation(summary = "Stream budgets", description = "Streams all budgets for the current user")
+    public Flux<BudgetResponse> streamBudgets(@AuthenticationPrincipal UserDetails userDetails) {
+        return reactiveExpenseService.streamBudgets(userDetails.getUsername());
+    }
+}
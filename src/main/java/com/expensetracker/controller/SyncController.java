@@ -0,0 +1,33 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.response.ApiResponse;
+import com.expensetracker.dto.response.SyncResponse;
+import com.expensetracker.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sync", description = "Delta sync for offline clients")
+@SecurityRequirement(name = "bearerAuth")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    @Operation(summary = "Get changes", description = "Returns expenses, categories and budgets changed or deleted since the sync token; omit the token for a full sync")
+    public ResponseEntity<ApiResponse<SyncResponse>> sync(
+            @Parameter(description = "syncToken from the previous response") @RequestParam(required = false) String since,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        SyncResponse changes = syncService.sync(userDetails.getUsername(), since);
+        return ResponseEntity.ok(ApiResponse.success(changes));
+    }
+}
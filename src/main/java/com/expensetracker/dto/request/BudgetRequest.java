@@ -2,6 +2,7 @@ package com.expensetracker.dto.request;
 
 import com.expensetracker.model.Budget;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -29,6 +30,7 @@ public class BudgetRequest {
 
     @NotNull(message = "Limit amount is required")
     @DecimalMin(value = "0.01", message = "Limit amount must be greater than 0")
+    @Digits(integer = 10, fraction = 2, message = "Limit amount must have at most 10 integer digits and 2 decimals")
     private BigDecimal limitAmount;
 
     @NotNull(message = "Period type is required")
@@ -0,0 +1,53 @@
+package com.expensetracker.dto.request;
+
+import com.expensetracker.model.Expense;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Selects expenses by explicit ids, by filter, or both (the intersection). For bulk updates the
+ * non-null change fields are applied to every selected expense; bulk deletes ignore them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkExpenseRequest {
+
+    @Size(max = 5000, message = "At most 5000 expense ids can be sent in one request")
+    private List<String> ids;
+
+    @Valid
+    private Filter filter;
+
+    private String categoryId;
+
+    private Expense.PaymentMethod paymentMethod;
+
+    private String currency;
+
+    private List<String> tags;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Filter {
+        private String categoryId;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        @Digits(integer = 10, fraction = 2, message = "Minimum amount must have at most 10 integer digits and 2 decimals")
+        private BigDecimal minAmount;
+        @Digits(integer = 10, fraction = 2, message = "Maximum amount must have at most 10 integer digits and 2 decimals")
+        private BigDecimal maxAmount;
+    }
+}
@@ -0,0 +1,22 @@
+package com.expensetracker.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMergeRequest {
+
+    @NotBlank(message = "Target category is required")
+    private String targetCategoryId;
+
+    /**
+     * Delete the source category once it is empty (merge); {@code false} keeps it (reassign).
+     */
+    private Boolean deleteSource;
+}
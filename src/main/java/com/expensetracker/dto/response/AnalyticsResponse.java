@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -45,4 +46,15 @@ public class AnalyticsResponse {
         private BigDecimal amount;
         private Integer count;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DailyTrend {
+        private LocalDate date;
+        private BigDecimal amount;
+        private BigDecimal windowTotal;
+        private BigDecimal movingAverage;
+    }
 }
@@ -0,0 +1,32 @@
+package com.expensetracker.dto.response;
+
+import com.expensetracker.model.BudgetAlert;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlertResponse {
+
+    private String id;
+    private String budgetId;
+    private String alertType;
+    private String message;
+    private LocalDateTime triggeredAt;
+
+    public static BudgetAlertResponse fromAlert(BudgetAlert alert) {
+        return BudgetAlertResponse.builder()
+                .id(alert.getId())
+                .budgetId(alert.getBudgetId())
+                .alertType(alert.getAlertType().name())
+                .message(alert.getMessage())
+                .triggeredAt(alert.getTriggeredAt())
+                .build();
+    }
+}
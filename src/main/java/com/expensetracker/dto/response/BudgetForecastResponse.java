@@ -0,0 +1,30 @@
+package com.expensetracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetForecastResponse {
+
+    private String budgetId;
+    private String budgetName;
+    private String categoryId;
+    private String categoryName;
+    private LocalDate periodStartDate;
+    private LocalDate periodEndDate;
+    private BigDecimal limitAmount;
+    private BigDecimal spentAmount;
+    private BigDecimal dailyRunRate;
+    private BigDecimal upcomingRecurringAmount;
+    private BigDecimal projectedSpend;
+    private Double projectedPercentage;
+    private Boolean onTrackToExceed;
+}
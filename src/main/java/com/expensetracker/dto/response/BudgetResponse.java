@@ -28,6 +28,7 @@ public class BudgetResponse {
     private Integer alertThreshold;
     private Boolean isActive;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 
     public static BudgetResponse fromBudget(Budget budget) {
         return BudgetResponse.builder()
@@ -42,6 +43,7 @@ public class BudgetResponse {
                 .alertThreshold(budget.getAlertThreshold())
                 .isActive(budget.getIsActive())
                 .createdAt(budget.getCreatedAt())
+                .updatedAt(budget.getUpdatedAt())
                 .build();
     }
 
@@ -0,0 +1,50 @@
+package com.expensetracker.dto.response;
+
+import com.expensetracker.model.CategoryMergeJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMergeJobResponse {
+
+    private String id;
+    private String sourceCategoryId;
+    private String targetCategoryId;
+    private Boolean deleteSource;
+    private CategoryMergeJob.Status status;
+    private long totalExpenses;
+    private long movedExpenses;
+    private long movedBudgets;
+    private Double progressPercentage;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public static CategoryMergeJobResponse fromJob(CategoryMergeJob job) {
+        double progress = job.getTotalExpenses() > 0
+                ? Math.min(100.0, job.getMovedExpenses() * 100.0 / job.getTotalExpenses())
+                : (job.getStatus() == CategoryMergeJob.Status.COMPLETED ? 100.0 : 0.0);
+
+        return CategoryMergeJobResponse.builder()
+                .id(job.getId())
+                .sourceCategoryId(job.getSourceCategoryId())
+                .targetCategoryId(job.getTargetCategoryId())
+                .deleteSource(job.getDeleteSource())
+                .status(job.getStatus())
+                .totalExpenses(job.getTotalExpenses())
+                .movedExpenses(job.getMovedExpenses())
+                .movedBudgets(job.getMovedBudgets())
+                .progressPercentage(Math.round(progress * 100.0) / 100.0)
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
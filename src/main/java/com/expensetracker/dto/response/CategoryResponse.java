@@ -22,6 +22,7 @@ public class CategoryResponse {
     private String icon;
     private Boolean isDefault;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 
     public static CategoryResponse fromCategory(Category category) {
         return CategoryResponse.builder()
@@ -33,6 +34,7 @@ public class CategoryResponse {
                 .icon(category.getIcon())
                 .isDefault(category.getIsDefault())
                 .createdAt(category.getCreatedAt())
+                .updatedAt(category.getUpdatedAt())
                 .build();
     }
 }
@@ -0,0 +1,22 @@
+package com.expensetracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private AnalyticsResponse summary;
+    private List<BudgetResponse> budgets;
+    private List<BudgetStatusResponse> budgetStatuses;
+}
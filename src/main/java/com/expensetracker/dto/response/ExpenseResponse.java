@@ -30,6 +30,8 @@ public class ExpenseResponse {
     private List<String> tags;
     private Boolean isRecurring;
     private String recurrencePattern;
+    private LocalDate nextOccurrence;
+    private String recurringSourceId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -47,6 +49,8 @@ public class ExpenseResponse {
                 .tags(expense.getTags())
                 .isRecurring(expense.getIsRecurring())
                 .recurrencePattern(expense.getRecurrencePattern() != null ? expense.getRecurrencePattern().name() : null)
+                .nextOccurrence(expense.getNextOccurrence())
+                .recurringSourceId(expense.getRecurringSourceId())
                 .createdAt(expense.getCreatedAt())
                 .updatedAt(expense.getUpdatedAt())
                 .build();
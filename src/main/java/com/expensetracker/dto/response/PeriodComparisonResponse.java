@@ -0,0 +1,35 @@
+package com.expensetracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodComparisonResponse {
+
+    private PeriodTotal currentPeriod;
+    private PeriodTotal previousPeriod;
+    private PeriodTotal previousYear;
+    private BigDecimal changeFromPreviousPeriod;
+    private Double percentageChangeFromPreviousPeriod;
+    private BigDecimal changeFromPreviousYear;
+    private Double percentageChangeFromPreviousYear;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PeriodTotal {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private BigDecimal amount;
+        private Integer count;
+    }
+}
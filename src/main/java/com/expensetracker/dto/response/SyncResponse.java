@@ -0,0 +1,39 @@
+package com.expensetracker.dto.response;
+
+import com.expensetracker.model.Tombstone;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+
+    private List<ExpenseResponse> expenses;
+    /**
+     * Expenses past the archive horizon, sent only during a full download; they are read-only.
+     */
+    private List<ExpenseResponse> archivedExpenses;
+    private List<CategoryResponse> categories;
+    private List<BudgetResponse> budgets;
+    private List<Deletion> deleted;
+    private String syncToken;
+    private boolean hasMore;
+    private boolean fullResync;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Deletion {
+        private Tombstone.EntityType type;
+        private String id;
+        private LocalDateTime deletedAt;
+    }
+}
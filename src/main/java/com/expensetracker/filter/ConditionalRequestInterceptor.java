@@ -0,0 +1,57 @@
+package com.expensetracker.filter;
+
+import com.expensetracker.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Answers conditional GETs from the caller's data version before the controller runs. The ETag
+ * covers the user, the version, the request URI and query, the Accept header (JSON, CBOR and
+ * Smile bodies differ) and today's date (forecasts depend on it), so an If-None-Match hit returns
+ * 304 without touching any repository.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalRequestInterceptor implements HandlerInterceptor {
+
+    private final DataVersionService dataVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return true;
+        }
+
+        String userId = authentication.getName();
+        String etag = etag(userId, dataVersionService.current(userId), request);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private String etag(String userId, long version, HttpServletRequest request) {
+        // Versions start at the same value for every user, so the user is part of the hash
+        String resource = userId + "|" + request.getRequestURI() + "?" + request.getQueryString()
+                + "|" + request.getHeader(HttpHeaders.ACCEPT) + "|" + LocalDate.now();
+        // Weak: the bytes differ with Content-Encoding, and Tomcat does not compress strong-ETag responses
+        return "W/\"" + Long.toHexString(version) + "-"
+                + DigestUtils.md5DigestAsHex(resource.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -1,7 +1,9 @@
 package com.expensetracker.filter;
 
 import com.expensetracker.service.CustomUserDetailsService;
+import com.expensetracker.service.TokenRevocationService;
 import com.expensetracker.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,14 +27,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                String userId = jwtUtil.extractUserId(jwt);
+            Claims claims = jwt != null ? jwtUtil.parseToken(jwt) : null;
+            if (claims != null && isUsableAccessToken(claims)) {
+                String userId = claims.getSubject();
 
                 UserDetails userDetails = userDetailsService.loadUserById(userId);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
@@ -48,6 +52,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private boolean isUsableAccessToken(Claims claims) {
+        // Refresh tokens are only good for /auth/refresh; access tokens die with their family
+        return !JwtUtil.TOKEN_TYPE_REFRESH.equals(claims.get(JwtUtil.CLAIM_TOKEN_TYPE, String.class))
+                && !tokenRevocationService.isRevoked(claims.get(JwtUtil.CLAIM_FAMILY_ID, String.class));
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
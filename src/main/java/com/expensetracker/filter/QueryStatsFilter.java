@@ -0,0 +1,108 @@
+package com.expensetracker.filter;
+
+import com.expensetracker.util.QueryCountScope;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Counts the MongoDB commands each request issues. The counts go out as X-DB-* response headers
+ * (added by {@link QueryStatsResponseAdvice} just before the body is written) and into the
+ * mongodb.request.* metrics, tagged by route. Query shapes repeated within one request are logged as
+ * likely N+1 lookups. Meant for dev and staging; off unless app.query-stats.enabled is set.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String COMMANDS_HEADER = "X-DB-Commands";
+    public static final String BYTES_SENT_HEADER = "X-DB-Bytes-Sent";
+    public static final String BYTES_RECEIVED_HEADER = "X-DB-Bytes-Received";
+    public static final String REPEATED_HEADER = "X-DB-Repeated-Queries";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${app.query-stats.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.query-stats.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        try (QueryCountScope scope = QueryCountScope.open()) {
+            filterChain.doFilter(request, response);
+            record(request, response, scope);
+        }
+    }
+
+    /**
+     * Writes the scope's counts onto a response that has not been committed yet.
+     */
+    public static void writeHeaders(QueryCountScope scope, int repeatThreshold,
+            BiConsumer<String, String> header) {
+        header.accept(COMMANDS_HEADER, String.valueOf(scope.getCommands()));
+        header.accept(BYTES_SENT_HEADER, String.valueOf(scope.getBytesSent()));
+        header.accept(BYTES_RECEIVED_HEADER, String.valueOf(scope.getBytesReceived()));
+        header.accept(REPEATED_HEADER, String.valueOf(scope.repeatedShapes(repeatThreshold).size()));
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, QueryCountScope scope) {
+        if (!response.isCommitted()) {
+            // Bodyless responses never pass through the advice
+            writeHeaders(scope, repeatThreshold, response::setHeader);
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNKNOWN";
+        Map<String, Integer> repeated = scope.repeatedShapes(repeatThreshold);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.summary("mongodb.request.commands", "method", request.getMethod(), "uri", route)
+                    .record(scope.getCommands());
+            registry.summary("mongodb.request.bytes", "method", request.getMethod(), "uri", route, "direction", "sent")
+                    .record(scope.getBytesSent());
+            registry.summary("mongodb.request.bytes", "method", request.getMethod(), "uri", route, "direction", "received")
+                    .record(scope.getBytesReceived());
+            if (!repeated.isEmpty()) {
+                registry.counter("mongodb.request.repeated.queries", "method", request.getMethod(), "uri", route)
+                        .increment();
+            }
+        }
+
+        repeated.forEach((shape, count) ->
+                log.warn("Possible N+1 in {} {}: {} identical queries of shape {}", request.getMethod(), route, count, shape));
+    }
+}
@@ -0,0 +1,38 @@
+package com.expensetracker.filter;
+
+import com.expensetracker.util.QueryCountScope;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the request's database counts as headers at the last moment they can still be set: after the
+ * controller returned and before the body is written.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class QueryStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final QueryStatsFilter queryStatsFilter;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return queryStatsFilter.isEnabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        QueryCountScope scope = QueryCountScope.current();
+        if (scope != null) {
+            QueryStatsFilter.writeHeaders(scope, queryStatsFilter.getRepeatThreshold(), response.getHeaders()::set);
+        }
+        return body;
+    }
+}
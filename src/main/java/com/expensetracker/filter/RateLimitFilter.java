@@ -2,7 +2,6 @@ package com.expensetracker.filter;
 
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,14 +24,20 @@ public class RateLimitFilter extends OncePerRequestFilter {
     @Value("${app.rate-limit.requests-per-minute:100}")
     private int requestsPerMinute;
 
+    @Value("${app.rate-limit.auth-requests-per-minute:20}")
+    private int authRequestsPerMinute;
+
     private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
-        String clientId = getClientId(request);
-        Bucket bucket = buckets.computeIfAbsent(clientId, this::createNewBucket);
+        // Auth endpoints hash passwords, so they get a tighter per-IP budget of their own
+        boolean auth = request.getRequestURI().startsWith("/api/v1/auth");
+        String clientId = (auth ? "auth-" : "") + clientId(request);
+        Bucket bucket = buckets.computeIfAbsent(clientId,
+                key -> createNewBucket(key, auth ? authRequestsPerMinute : requestsPerMinute));
 
         long availableTokens = bucket.getAvailableTokens();
         log.debug("Client: {}, Available tokens: {}", clientId, availableTokens);
@@ -49,13 +54,19 @@ public class RateLimitFilter extends OncePerRequestFilter {
         }
     }
 
-    private Bucket createNewBucket(String clientId) {
-        log.info("Creating new rate limit bucket for client: {} with {} requests/minute", clientId, requestsPerMinute);
-        Bandwidth limit = Bandwidth.classic(requestsPerMinute, Refill.greedy(requestsPerMinute, Duration.ofMinutes(1)));
+    private Bucket createNewBucket(String clientId, int perMinute) {
+        log.info("Creating new rate limit bucket for client: {} with {} requests/minute", clientId, perMinute);
+        Bandwidth limit = Bandwidth.builder()
+                .capacity(perMinute)
+                .refillGreedy(perMinute, Duration.ofMinutes(1))
+                .build();
         return Bucket.builder().addLimit(limit).build();
     }
 
-    private String getClientId(HttpServletRequest request) {
+    /**
+     * The client address used for rate limiting, also the client half of the login throttle key.
+     */
+    public static String clientId(HttpServletRequest request) {
         // Use IP address as identifier
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
@@ -67,11 +78,10 @@ public class RateLimitFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
-        // Skip rate limiting for Swagger, docs, and auth endpoints
+        // Skip rate limiting for Swagger and docs
         return path.startsWith("/swagger-ui") ||
                path.startsWith("/api-docs") ||
                path.startsWith("/v3/api-docs") ||
-               path.startsWith("/actuator") ||
-               path.startsWith("/api/v1/auth");
+               path.startsWith("/actuator");
     }
 }
@@ -0,0 +1,46 @@
+package com.expensetracker.model;
+
+import com.expensetracker.dto.response.AnalyticsResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Expense summary computed ahead of time for one user and date range, so the first analytics request
+ * of the day does not pay for a cold scan. Only trusted while none of the user's expenses or categories
+ * changed after {@code computedAt}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "analytics_snapshots")
+public class AnalyticsSnapshot {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private AnalyticsResponse summary;
+
+    private LocalDateTime computedAt;
+
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    public static String idOf(String userId, LocalDate startDate, LocalDate endDate) {
+        return userId + ":" + startDate + ":" + endDate;
+    }
+}
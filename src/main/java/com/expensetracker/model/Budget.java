@@ -6,7 +6,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -18,7 +21,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "budgets")
-@CompoundIndex(name = "user_active_idx", def = "{'userId': 1, 'isActive': 1}")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_active_idx", def = "{'userId': 1, 'isActive': 1}"),
+    @CompoundIndex(name = "user_updated_idx", def = "{'userId': 1, 'updatedAt': 1}")
+})
 public class Budget {
 
     @Id
@@ -44,9 +50,16 @@ public class Budget {
     @Builder.Default
     private Boolean isActive = true;
 
+    // Job partition bucket of the owning user, so a user's budgets are checked in the user's partition
+    @Indexed
+    private Integer partitionKey;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
     public enum PeriodType {
         MONTHLY, QUARTERLY, YEARLY
     }
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -14,6 +15,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "budget_alerts")
+@CompoundIndex(name = "user_triggered_idx", def = "{'userId': 1, 'triggeredAt': -1}")
 public class BudgetAlert {
 
     @Id
@@ -34,6 +36,6 @@ public class BudgetAlert {
     private LocalDateTime triggeredAt = LocalDateTime.now();
 
     public enum AlertType {
-        THRESHOLD_REACHED, BUDGET_EXCEEDED
+        THRESHOLD_REACHED, BUDGET_EXCEEDED, PROJECTED_TO_EXCEED
     }
 }
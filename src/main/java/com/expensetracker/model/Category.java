@@ -6,7 +6,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -16,7 +18,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "categories")
-@CompoundIndex(name = "user_name_idx", def = "{'userId': 1, 'name': 1}", unique = true)
+@CompoundIndexes({
+    @CompoundIndex(name = "user_name_idx", def = "{'userId': 1, 'name': 1}", unique = true),
+    @CompoundIndex(name = "user_updated_idx", def = "{'userId': 1, 'updatedAt': 1}")
+})
 public class Category {
 
     @Id
@@ -38,4 +43,7 @@ public class Category {
 
     @CreatedDate
     private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,58 @@
+package com.expensetracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "category_merge_jobs")
+public class CategoryMergeJob {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String sourceCategoryId;
+
+    private String targetCategoryId;
+
+    @Builder.Default
+    private Boolean deleteSource = true;
+
+    @Indexed
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    private long totalExpenses;
+
+    private long movedExpenses;
+
+    private long movedBudgets;
+
+    private String error;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    /**
+     * Refreshed after every batch; a running job that stops heartbeating is resumed by another run.
+     */
+    private LocalDateTime heartbeatAt;
+
+    private LocalDateTime completedAt;
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+}
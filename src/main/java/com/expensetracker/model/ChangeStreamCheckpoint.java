@@ -0,0 +1,29 @@
+package com.expensetracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last change-stream resume token processed by one consumer, so a restarted node continues from where
+ * it stopped instead of missing the writes made while it was down.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "change_stream_checkpoints")
+public class ChangeStreamCheckpoint {
+
+    @Id
+    private String consumerId;
+
+    private String resumeToken;
+
+    private LocalDateTime updatedAt;
+}
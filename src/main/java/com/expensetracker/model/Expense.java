@@ -9,11 +9,13 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Data
@@ -24,7 +26,9 @@ import java.util.List;
 @CompoundIndexes({
     @CompoundIndex(name = "user_date_idx", def = "{'userId': 1, 'expenseDate': -1}"),
     @CompoundIndex(name = "user_category_idx", def = "{'userId': 1, 'categoryId': 1}"),
-    @CompoundIndex(name = "user_created_idx", def = "{'userId': 1, 'createdAt': -1}")
+    @CompoundIndex(name = "user_created_idx", def = "{'userId': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "user_amount_idx", def = "{'userId': 1, 'amount': 1}"),
+    @CompoundIndex(name = "user_updated_idx", def = "{'userId': 1, 'updatedAt': 1}")
 })
 public class Expense {
 
@@ -56,6 +60,23 @@ public class Expense {
 
     private RecurrencePattern recurrencePattern;
 
+    /**
+     * Next date a recurring template is due to be materialized; only set on templates.
+     */
+    @Indexed(sparse = true)
+    private LocalDate nextOccurrence;
+
+    /**
+     * Template this expense was materialized from, if any.
+     */
+    private String recurringSourceId;
+
+    /**
+     * Template id and occurrence date; unique so a rerun of the materialization job cannot duplicate.
+     */
+    @Indexed(unique = true, sparse = true)
+    private String occurrenceKey;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -67,6 +88,40 @@ public class Expense {
     }
 
     public enum RecurrencePattern {
-        DAILY, WEEKLY, MONTHLY, YEARLY
+        DAILY, WEEKLY, MONTHLY, YEARLY;
+
+        public LocalDate next(LocalDate date) {
+            return nextAfter(date, date);
+        }
+
+        /**
+         * First occurrence strictly after {@code after}, counted from {@code anchor} so that
+         * month-end dates do not drift (Jan 31 is followed by Feb 29, then Mar 31).
+         */
+        public LocalDate nextAfter(LocalDate anchor, LocalDate after) {
+            long steps = Math.max(unit().between(anchor, after), 0);
+            LocalDate candidate = anchor.plus(steps, unit());
+            while (!candidate.isAfter(after)) {
+                candidate = anchor.plus(++steps, unit());
+            }
+            return candidate;
+        }
+
+        /**
+         * Hand-entered series whose latest occurrence is before this date have missed two
+         * occurrences and are treated as lapsed; one day of slack absorbs month-end clamping.
+         */
+        public LocalDate lapsedBefore(LocalDate today) {
+            return today.minus(2, unit()).minusDays(1);
+        }
+
+        private ChronoUnit unit() {
+            return switch (this) {
+                case DAILY -> ChronoUnit.DAYS;
+                case WEEKLY -> ChronoUnit.WEEKS;
+                case MONTHLY -> ChronoUnit.MONTHS;
+                case YEARLY -> ChronoUnit.YEARS;
+            };
+        }
     }
 }
@@ -0,0 +1,63 @@
+package com.expensetracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Totals for one user's archived expenses in one calendar month, written once when the month is moved
+ * to the cold tier. Only a category merge rewrites it, re-pointing the source category's cells. Cells
+ * are keyed by category and payment method so every analytics breakdown can be rebuilt from them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "expense_monthly_summaries")
+@CompoundIndex(name = "user_month_idx", def = "{'userId': 1, 'monthStart': 1}")
+public class ExpenseMonthlySummary {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private LocalDate monthStart;
+
+    private BigDecimal totalAmount;
+
+    private int expenseCount;
+
+    private BigDecimal highestAmount;
+
+    private BigDecimal lowestAmount;
+
+    private List<Cell> cells;
+
+    private LocalDateTime archivedAt;
+
+    public static String idOf(String userId, YearMonth month) {
+        return userId + ":" + month;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cell {
+        private String categoryId;
+        private Expense.PaymentMethod paymentMethod;
+        private BigDecimal amount;
+        private int count;
+    }
+}
@@ -0,0 +1,52 @@
+package com.expensetracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a create request sent with an {@code Idempotency-Key} header, keyed by user and key.
+ * Inserted before the request runs, so a concurrent retry finds it, and completed with the
+ * serialized response that later retries are answered with.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+
+    @Id
+    private String id;
+
+    private String requestHash;
+
+    private Status status;
+
+    private String response;
+
+    private LocalDateTime createdAt;
+
+    /**
+     * Refreshed while the request runs; an in-progress record whose heartbeat stops is abandoned.
+     */
+    private LocalDateTime heartbeatAt;
+
+    /**
+     * Claim that is running the request, so a taken-over attempt cannot complete or remove the record.
+     */
+    private String owner;
+
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    public enum Status {
+        IN_PROGRESS, COMPLETED
+    }
+}
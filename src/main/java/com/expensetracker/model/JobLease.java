@@ -0,0 +1,52 @@
+package com.expensetracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One partition of one run of a scheduled job. The id is {@code job:runKey:partition}, so the first
+ * node to insert it owns that partition until {@link #lockedUntil}; a lease that lapses without
+ * {@link #completedAt} belonged to a node that died and may be claimed again.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "job_leases")
+@CompoundIndex(name = "incomplete_idx", def = "{'completedAt': 1, 'lockedUntil': 1}")
+public class JobLease {
+
+    @Id
+    private String id;
+
+    private String jobName;
+
+    private String runKey;
+
+    private int partition;
+
+    private int partitions;
+
+    private String owner;
+
+    private LocalDateTime lockedUntil;
+
+    private LocalDateTime completedAt;
+
+    private String error;
+
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    public static String idOf(String jobName, String runKey, int partition) {
+        return jobName + ":" + runKey + ":" + partition;
+    }
+}
@@ -0,0 +1,39 @@
+package com.expensetracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One issued refresh token, keyed by its jti. Tokens from one login share a family id; each refresh
+ * consumes the presented token and issues the next one in the family.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String userId;
+
+    @Indexed
+    private String familyId;
+
+    private Instant issuedAt;
+
+    private Instant consumedAt;
+
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
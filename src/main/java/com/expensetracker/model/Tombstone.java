@@ -0,0 +1,43 @@
+package com.expensetracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted expense, category or budget, kept so that delta sync can tell offline clients
+ * to drop their copy. Expires after the sync retention window.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "tombstones")
+@CompoundIndex(name = "user_deleted_idx", def = "{'userId': 1, 'deletedAt': 1}")
+public class Tombstone {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private EntityType entityType;
+
+    private String entityId;
+
+    private LocalDateTime deletedAt;
+
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    public enum EntityType {
+        EXPENSE, CATEGORY, BUDGET
+    }
+}
@@ -40,6 +40,14 @@ public class User {
     @Builder.Default
     private Boolean isActive = true;
 
+    // Last login or token refresh; drives nightly analytics precomputation
+    @Indexed(sparse = true)
+    private LocalDateTime lastActiveAt;
+
+    // Job partition bucket derived from the id, see JobCoordinator.partitionKeyOf
+    @Indexed
+    private Integer partitionKey;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -1,9 +1,12 @@
 package com.expensetracker.repository;
 
 import com.expensetracker.model.BudgetAlert;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,9 +14,16 @@ public interface BudgetAlertRepository extends MongoRepository<BudgetAlert, Stri
 
     List<BudgetAlert> findByUserId(String userId);
 
+    Page<BudgetAlert> findByUserId(String userId, Pageable pageable);
+
+    List<BudgetAlert> findTop100ByUserIdAndIdGreaterThanOrderByIdAsc(String userId, String id);
+
     List<BudgetAlert> findByUserIdAndIsNotifiedFalse(String userId);
 
     List<BudgetAlert> findByBudgetId(String budgetId);
 
     void deleteByBudgetId(String budgetId);
+
+    boolean existsByBudgetIdAndAlertTypeAndTriggeredAtAfter(String budgetId, BudgetAlert.AlertType alertType,
+            LocalDateTime triggeredAt);
 }
@@ -0,0 +1,19 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.CategoryMergeJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryMergeJobRepository extends MongoRepository<CategoryMergeJob, String> {
+
+    Optional<CategoryMergeJob> findByIdAndUserId(String id, String userId);
+
+    List<CategoryMergeJob> findByStatusIn(List<CategoryMergeJob.Status> statuses);
+
+    boolean existsByUserIdAndSourceCategoryIdAndStatusIn(String userId, String sourceCategoryId,
+            List<CategoryMergeJob.Status> statuses);
+}
@@ -0,0 +1,16 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.ExpenseMonthlySummary;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ExpenseMonthlySummaryRepository extends MongoRepository<ExpenseMonthlySummary, String> {
+
+    @Query("{'userId': ?0, 'monthStart': {$gte: ?1, $lte: ?2}}")
+    List<ExpenseMonthlySummary> findByUserIdAndMonthStartBetween(String userId, LocalDate from, LocalDate to);
+}
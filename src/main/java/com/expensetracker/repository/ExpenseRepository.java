@@ -13,7 +13,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ExpenseRepository extends MongoRepository<Expense, String> {
+public interface ExpenseRepository extends MongoRepository<Expense, String>, ExpenseRepositoryCustom {
 
     Page<Expense> findByUserId(String userId, Pageable pageable);
 
@@ -21,17 +21,14 @@ public interface ExpenseRepository extends MongoRepository<Expense, String> {
 
     void deleteByIdAndUserId(String id, String userId);
 
-    @Query("{'userId': ?0, 'expenseDate': {$gte: ?1, $lte: ?2}}")
-    List<Expense> findByUserIdAndExpenseDateBetween(String userId, LocalDate startDate, LocalDate endDate);
-
-    @Query("{'userId': ?0, 'categoryId': ?1, 'expenseDate': {$gte: ?2, $lte: ?3}}")
-    List<Expense> findByUserIdAndCategoryIdAndExpenseDateBetween(
-            String userId, String categoryId, LocalDate startDate, LocalDate endDate);
-
     Page<Expense> findByUserIdAndCategoryId(String userId, String categoryId, Pageable pageable);
 
     @Query("{'userId': ?0, 'amount': {$gte: ?1, $lte: ?2}}")
     Page<Expense> findByUserIdAndAmountBetween(String userId, BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable);
 
     List<Expense> findByUserIdAndCategoryId(String userId, String categoryId);
+
+    List<Expense> findByUserIdAndIsRecurringTrue(String userId);
+
+    List<Expense> findByNextOccurrenceLessThanEqual(LocalDate date, Pageable pageable);
 }
@@ -0,0 +1,72 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Expense queries that need aggregation pipelines or span both storage tiers. Expenses dated before
+ * the archive horizon may have been moved from {@code expenses} to {@link #ARCHIVE_COLLECTION}; date
+ * range reads consult the archive only when the range reaches back past the horizon.
+ */
+public interface ExpenseRepositoryCustom {
+
+    String ARCHIVE_COLLECTION = "expenses_archive";
+
+    /**
+     * First day of the oldest month that is never archived.
+     */
+    static LocalDate archiveHorizon(LocalDate today, int horizonMonths) {
+        return today.withDayOfMonth(1).minusMonths(horizonMonths);
+    }
+
+    List<Expense> findByUserIdAndExpenseDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+
+    List<Expense> findByUserIdAndCategoryIdAndExpenseDateBetween(
+            String userId, String categoryId, LocalDate startDate, LocalDate endDate);
+
+    List<Expense> findByUserIdAndExpenseDateGreaterThanEqual(String userId, LocalDate startDate);
+
+    /**
+     * Hot tier only; analytics combine it with archived monthly summaries.
+     */
+    List<Expense> findHotByUserIdAndExpenseDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+
+    List<Expense> findArchivedByUserIdAndExpenseDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+
+    Optional<Expense> findArchivedByIdAndUserId(String id, String userId);
+
+    /**
+     * Whether the category has expenses in either tier; each probe stops at the first match.
+     */
+    boolean existsByUserIdAndCategoryIdInAnyTier(String userId, String categoryId);
+
+    /**
+     * Recurring templates due on or before {@code endDate}, plus hand-entered recurring expenses recent
+     * enough that their series has not lapsed by {@code today}. A {@code null} category spans all.
+     */
+    List<Expense> findRecurringDueBy(String userId, String categoryId, LocalDate today, LocalDate endDate);
+
+    /**
+     * Sums amounts server-side; a {@code null} category sums across all categories.
+     */
+    BigDecimal sumAmount(String userId, String categoryId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Sums, server-side, only recurring expenses: templates and their materialized or hand-entered
+     * occurrences. A {@code null} category sums across all categories.
+     */
+    BigDecimal sumRecurringAmount(String userId, String categoryId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Sums, in one grouped aggregation, each category's spend from every window start up to
+     * {@code endDate}. Keyed by category id ({@code null} for uncategorized), then by window start.
+     */
+    Map<String, Map<LocalDate, BigDecimal>> sumAmountByCategorySince(
+            String userId, Collection<LocalDate> windowStarts, LocalDate endDate);
+}
@@ -0,0 +1,214 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.Expense;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class ExpenseRepositoryCustomImpl implements ExpenseRepositoryCustom {
+
+    /**
+     * $toDecimal keeps sums correct while documents written before Decimal128 storage still hold strings.
+     */
+    static final AggregationExpression AMOUNT = ConvertOperators.valueOf("amount").convertToDecimal();
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.archive.horizon-months:13}")
+    private int horizonMonths;
+
+    @Override
+    public List<Expense> findByUserIdAndExpenseDateBetween(String userId, LocalDate startDate, LocalDate endDate) {
+        return findAcrossTiers(dateRange(userId, null, startDate, endDate), startDate);
+    }
+
+    @Override
+    public List<Expense> findByUserIdAndCategoryIdAndExpenseDateBetween(
+            String userId, String categoryId, LocalDate startDate, LocalDate endDate) {
+        return findAcrossTiers(dateRange(userId, categoryId, startDate, endDate), startDate);
+    }
+
+    @Override
+    public List<Expense> findByUserIdAndExpenseDateGreaterThanEqual(String userId, LocalDate startDate) {
+        return findAcrossTiers(Criteria.where("userId").is(userId).and("expenseDate").gte(startDate), startDate);
+    }
+
+    @Override
+    public List<Expense> findHotByUserIdAndExpenseDateBetween(String userId, LocalDate startDate, LocalDate endDate) {
+        return mongoTemplate.find(new Query(dateRange(userId, null, startDate, endDate)), Expense.class);
+    }
+
+    @Override
+    public List<Expense> findArchivedByUserIdAndExpenseDateBetween(String userId, LocalDate startDate, LocalDate endDate) {
+        return mongoTemplate.find(new Query(dateRange(userId, null, startDate, endDate)), Expense.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public Optional<Expense> findArchivedByIdAndUserId(String id, String userId) {
+        Query query = new Query(Criteria.where("_id").is(id).and("userId").is(userId));
+        return Optional.ofNullable(mongoTemplate.findOne(query, Expense.class, ARCHIVE_COLLECTION));
+    }
+
+    @Override
+    public boolean existsByUserIdAndCategoryIdInAnyTier(String userId, String categoryId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("categoryId").is(categoryId));
+        return mongoTemplate.exists(query, Expense.class)
+                || mongoTemplate.exists(query, Expense.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public List<Expense> findRecurringDueBy(String userId, String categoryId, LocalDate today, LocalDate endDate) {
+        List<Criteria> branches = new ArrayList<>();
+        branches.add(Criteria.where("nextOccurrence").lte(endDate));
+        LocalDate earliest = today;
+        for (Expense.RecurrencePattern pattern : Expense.RecurrencePattern.values()) {
+            LocalDate lapsedBefore = pattern.lapsedBefore(today);
+            branches.add(Criteria.where("nextOccurrence").is(null)
+                    .and("recurrencePattern").is(pattern)
+                    .and("expenseDate").gte(lapsedBefore));
+            earliest = lapsedBefore.isBefore(earliest) ? lapsedBefore : earliest;
+        }
+
+        Criteria criteria = Criteria.where("userId").is(userId).and("isRecurring").is(true);
+        if (categoryId != null) {
+            criteria = criteria.and("categoryId").is(categoryId);
+        }
+        return findAcrossTiers(criteria.orOperator(branches), earliest);
+    }
+
+    @Override
+    public BigDecimal sumAmount(String userId, String categoryId, LocalDate startDate, LocalDate endDate) {
+        return sumAcrossTiers(dateRange(userId, categoryId, startDate, endDate), startDate);
+    }
+
+    @Override
+    public BigDecimal sumRecurringAmount(String userId, String categoryId, LocalDate startDate, LocalDate endDate) {
+        Criteria recurring = new Criteria().orOperator(
+                Criteria.where("isRecurring").is(true),
+                Criteria.where("recurringSourceId").ne(null));
+        return sumAcrossTiers(new Criteria().andOperator(dateRange(userId, categoryId, startDate, endDate), recurring),
+                startDate);
+    }
+
+    @Override
+    public Map<String, Map<LocalDate, BigDecimal>> sumAmountByCategorySince(
+            String userId, Collection<LocalDate> windowStarts, LocalDate endDate) {
+        Map<String, Map<LocalDate, BigDecimal>> totals = new HashMap<>();
+        if (windowStarts.isEmpty()) {
+            return totals;
+        }
+
+        List<LocalDate> starts = windowStarts.stream().distinct().sorted().toList();
+        Criteria criteria = dateRange(userId, null, starts.get(0), endDate);
+
+        // One conditional sum per window, so every window is totalled in the same $group
+        GroupOperation group = Aggregation.group("categoryId");
+        for (int i = 0; i < starts.size(); i++) {
+            // LocalDate is stored as midnight in the server's zone
+            Date from = Date.from(starts.get(i).atStartOfDay(ZoneId.systemDefault()).toInstant());
+            group = group.sum(ConditionalOperators
+                    .when(ComparisonOperators.valueOf("expenseDate").greaterThanEqualToValue(from))
+                    .thenValueOf(AMOUNT)
+                    .otherwise(0)).as("w" + i);
+        }
+
+        List<String> collections = new ArrayList<>(List.of(mongoTemplate.getCollectionName(Expense.class)));
+        if (reachesArchive(starts.get(0))) {
+            collections.add(ARCHIVE_COLLECTION);
+        }
+        for (String collection : collections) {
+            List<Document> results = mongoTemplate.aggregate(
+                    Aggregation.newAggregation(Expense.class, Aggregation.match(criteria), group),
+                    collection, Document.class).getMappedResults();
+            for (Document result : results) {
+                Map<LocalDate, BigDecimal> windows = totals.computeIfAbsent(result.getString("_id"), key -> new HashMap<>());
+                for (int i = 0; i < starts.size(); i++) {
+                    windows.merge(starts.get(i), toBigDecimal(result.get("w" + i)), BigDecimal::add);
+                }
+            }
+        }
+        return totals;
+    }
+
+    private BigDecimal sumAcrossTiers(Criteria criteria, LocalDate startDate) {
+        BigDecimal total = sum(criteria, mongoTemplate.getCollectionName(Expense.class));
+        if (reachesArchive(startDate)) {
+            // The archiver deletes from the hot tier only after the copy is durable, so a document
+            // can briefly exist in both; the next run removes the hot copy.
+            total = total.add(sum(criteria, ARCHIVE_COLLECTION));
+        }
+        return total;
+    }
+
+    private BigDecimal sum(Criteria criteria, String collection) {
+        Document result = mongoTemplate.aggregate(Aggregation.newAggregation(Expense.class,
+                        Aggregation.match(criteria),
+                        Aggregation.group().sum(AMOUNT).as("total")),
+                collection, Document.class).getUniqueMappedResult();
+
+        return toBigDecimal(result != null ? result.get("total") : null);
+    }
+
+    private List<Expense> findAcrossTiers(Criteria criteria, LocalDate startDate) {
+        List<Expense> expenses = mongoTemplate.find(new Query(criteria), Expense.class);
+        if (!reachesArchive(startDate)) {
+            return expenses;
+        }
+
+        Set<String> seen = new HashSet<>();
+        expenses.forEach(expense -> seen.add(expense.getId()));
+        List<Expense> merged = new ArrayList<>(expenses);
+        for (Expense archived : mongoTemplate.find(new Query(criteria), Expense.class, ARCHIVE_COLLECTION)) {
+            if (seen.add(archived.getId())) {
+                merged.add(archived);
+            }
+        }
+        return merged;
+    }
+
+    private boolean reachesArchive(LocalDate startDate) {
+        return startDate.isBefore(ExpenseRepositoryCustom.archiveHorizon(LocalDate.now(), horizonMonths));
+    }
+
+    private static Criteria dateRange(String userId, String categoryId, LocalDate startDate, LocalDate endDate) {
+        Criteria criteria = Criteria.where("userId").is(userId).and("expenseDate").gte(startDate).lte(endDate);
+        if (categoryId != null) {
+            criteria = criteria.and("categoryId").is(categoryId);
+        }
+        return criteria;
+    }
+
+    static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,14 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+
+    List<RefreshToken> findByUserIdAndExpiresAtAfter(String userId, Instant now);
+}
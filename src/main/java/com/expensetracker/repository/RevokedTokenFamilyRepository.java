@@ -0,0 +1,16 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.model.RevokedTokenFamily;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenFamilyRepository extends MongoRepository<RevokedTokenFamily, String> {
+
+    List<RevokedTokenFamily> findByRevokedAtAfter(Instant since);
+
+    List<RevokedTokenFamily> findByExpiresAtAfter(Instant now);
+}
@@ -2,8 +2,11 @@ package com.expensetracker.repository;
 
 import com.expensetracker.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,8 @@ public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
 
     Boolean existsByEmail(String email);
+
+    @Query("{'_id': ?0}")
+    @Update("{'$set': {'lastActiveAt': ?1}}")
+    void updateLastActiveAt(String id, LocalDateTime lastActiveAt);
 }
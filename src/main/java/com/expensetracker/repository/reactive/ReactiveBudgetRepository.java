@@ -0,0 +1,17 @@
+package com.expensetracker.repository.reactive;
+
+import com.expensetracker.model.Budget;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveBudgetRepository extends ReactiveMongoRepository<Budget, String> {
+
+    Flux<Budget> findByUserId(String userId);
+
+    Flux<Budget> findByUserIdAndIsActiveTrue(String userId);
+
+    Mono<Budget> findByIdAndUserId(String id, String userId);
+}
@@ -0,0 +1,15 @@
+package com.expensetracker.repository.reactive;
+
+import com.expensetracker.model.Category;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveCategoryRepository extends ReactiveMongoRepository<Category, String> {
+
+    Flux<Category> findByUserId(String userId);
+
+    Mono<Category> findByIdAndUserId(String id, String userId);
+}
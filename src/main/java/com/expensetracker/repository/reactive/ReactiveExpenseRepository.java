@@ -0,0 +1,28 @@
+package com.expensetracker.repository.reactive;
+
+import com.expensetracker.model.Expense;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@Repository
+public interface ReactiveExpenseRepository extends ReactiveMongoRepository<Expense, String> {
+
+    Flux<Expense> findByUserId(String userId, Sort sort);
+
+    Mono<Expense> findByIdAndUserId(String id, String userId);
+
+    @Query("{'userId': ?0, 'expenseDate': {$gte: ?1, $lte: ?2}}")
+    Flux<Expense> findByUserIdAndExpenseDateBetween(String userId, LocalDate startDate, LocalDate endDate, Sort sort);
+
+    @Query("{'userId': ?0, 'categoryId': ?1, 'expenseDate': {$gte: ?2, $lte: ?3}}")
+    Flux<Expense> findByUserIdAndCategoryIdAndExpenseDateBetween(
+            String userId, String categoryId, LocalDate startDate, LocalDate endDate, Sort sort);
+
+    Flux<Expense> findByUserIdAndCategoryId(String userId, String categoryId, Sort sort);
+}
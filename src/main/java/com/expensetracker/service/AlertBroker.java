@@ -0,0 +1,34 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.response.BudgetAlertResponse;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries alert stream messages to every instance, so a client connected to one node hears about
+ * alerts raised and data changed on any other. Selected with app.alerts.broker.
+ */
+public interface AlertBroker {
+
+    String BUDGET_ALERT = "budget-alert";
+    String BUDGET_STATUS = "budget-status";
+
+    /**
+     * A new alert for {@code userId}, or with a null alert a signal that the user's budget statuses
+     * may have changed.
+     */
+    record Message(String userId, String event, BudgetAlertResponse alert) {
+
+        public static Message alert(String userId, BudgetAlertResponse alert) {
+            return new Message(userId, BUDGET_ALERT, alert);
+        }
+
+        public static Message statusChanged(String userId) {
+            return new Message(userId, BUDGET_STATUS, null);
+        }
+    }
+
+    void publish(Message message);
+
+    void subscribe(Consumer<Message> listener);
+}
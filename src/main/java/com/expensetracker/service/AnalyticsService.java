@@ -1,21 +1,42 @@
 package com.expensetracker.service;
 
 import com.expensetracker.dto.response.AnalyticsResponse;
+import com.expensetracker.dto.response.BudgetResponse;
+import com.expensetracker.dto.response.BudgetStatusResponse;
+import com.expensetracker.dto.response.CategoryResponse;
+import com.expensetracker.dto.response.DashboardResponse;
+import com.expensetracker.dto.response.PeriodComparisonResponse;
+import com.expensetracker.exception.BadRequestException;
+import com.expensetracker.model.Budget;
 import com.expensetracker.model.Expense;
-import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.model.ExpenseMonthlySummary;
+import com.expensetracker.repository.ExpenseMonthlySummaryRepository;
 import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.ExpenseRepositoryCustom;
+import com.expensetracker.util.DailyTotals;
+import com.expensetracker.util.ExpenseColumns;
+import com.expensetracker.util.MinorUnits;
+import com.expensetracker.util.SpendAccumulator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,122 +45,343 @@ import java.util.stream.Collectors;
 public class AnalyticsService {
 
     private final ExpenseRepository expenseRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
+    private final BudgetService budgetService;
+    private final ExpenseHotSetCache hotSetCache;
+    private final ExpenseMonthlySummaryRepository monthlySummaryRepository;
+    private final AnalyticsSnapshotService snapshotService;
 
-    @Cacheable(value = "analytics-summary", key = "#userId + '-' + #startDate + '-' + #endDate")
-    public AnalyticsResponse getExpenseSummary(String userId, LocalDate startDate, LocalDate endDate) {
-        List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate);
+    @Value("${app.archive.horizon-months:13}")
+    private int horizonMonths;
 
-        if (expenses.isEmpty()) {
-            return AnalyticsResponse.builder()
-                    .totalExpenses(BigDecimal.ZERO)
-                    .totalTransactions(0)
-                    .averageExpense(BigDecimal.ZERO)
-                    .highestExpense(BigDecimal.ZERO)
-                    .lowestExpense(BigDecimal.ZERO)
-                    .categoryBreakdown(new ArrayList<>())
-                    .monthlyTrends(new ArrayList<>())
-                    .paymentMethodBreakdown(new HashMap<>())
-                    .build();
-        }
+    @Value("${app.analytics.max-range-days:3660}")
+    private int maxRangeDays;
 
-        BigDecimal totalExpenses = expenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Value("${app.analytics.max-window-days:366}")
+    private int maxWindowDays;
 
-        int totalTransactions = expenses.size();
+    @Cacheable(value = "analytics-summary", key = "#userId + '-' + @dataVersionService.current(#userId) + '-' + #startDate + '-' + #endDate")
+    public AnalyticsResponse getExpenseSummary(String userId, LocalDate startDate, LocalDate endDate) {
+        return snapshotService.find(userId, startDate, endDate)
+                .orElseGet(() -> toSummary(accumulate(userId, startDate, endDate), categoryNames(userId)));
+    }
 
-        BigDecimal averageExpense = totalExpenses.divide(
-                BigDecimal.valueOf(totalTransactions), 2, RoundingMode.HALF_UP);
+    /**
+     * Computes and stores the month-to-date and year-to-date summaries that dashboards open with, so
+     * the day's first request for them is answered from a snapshot.
+     */
+    public void precomputeSummaries(String userId, LocalDate today) {
+        precomputeSummary(userId, today.withDayOfMonth(1), today);
+        precomputeSummary(userId, today.withDayOfYear(1), today);
+    }
 
-        BigDecimal highestExpense = expenses.stream()
-                .map(Expense::getAmount)
-                .max(BigDecimal::compareTo)
-                .orElse(BigDecimal.ZERO);
+    private void precomputeSummary(String userId, LocalDate startDate, LocalDate endDate) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        AnalyticsResponse summary = toSummary(accumulate(userId, startDate, endDate), categoryNames(userId));
+        snapshotService.save(userId, startDate, endDate, summary, startedAt);
+    }
 
-        BigDecimal lowestExpense = expenses.stream()
-                .map(Expense::getAmount)
-                .min(BigDecimal::compareTo)
-                .orElse(BigDecimal.ZERO);
+    /**
+     * Everything the dashboard shows: the summary for the range plus every budget and its current
+     * status. The requested dates and the budgets' current periods are read together when they
+     * overlap, and daily totals are kept only for the budget periods.
+     */
+    public DashboardResponse getDashboard(String userId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        LocalDate today = LocalDate.now();
+        List<Budget> budgets = budgetService.getBudgetEntities(userId);
+        Map<String, String> categoryNames = categoryNames(userId);
+
+        LocalDate budgetStart = today;
+        for (Budget budget : budgets) {
+            LocalDate periodStart = budgetService.calculatePeriodStartDate(budget);
+            if (periodStart.isBefore(budgetStart)) {
+                budgetStart = periodStart;
+            }
+        }
 
-        List<AnalyticsResponse.CategoryBreakdown> categoryBreakdown = getCategoryBreakdown(userId, expenses, totalExpenses);
-        List<AnalyticsResponse.MonthlyTrend> monthlyTrends = getMonthlyTrends(expenses);
-        Map<String, BigDecimal> paymentMethodBreakdown = getPaymentMethodBreakdown(expenses);
+        List<Expense> expenses;
+        List<Expense> budgetExpenses;
+        if (startDate.isAfter(today.plusDays(1)) || endDate.isBefore(budgetStart.minusDays(1))) {
+            // Disjoint: one read each rather than everything in between
+            expenses = expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate);
+            budgetExpenses = expenseRepository.findByUserIdAndExpenseDateBetween(userId, budgetStart, today);
+        } else {
+            LocalDate scanStart = startDate.isBefore(budgetStart) ? startDate : budgetStart;
+            LocalDate scanEnd = endDate.isAfter(today) ? endDate : today;
+            expenses = expenseRepository.findByUserIdAndExpenseDateBetween(userId, scanStart, scanEnd);
+            budgetExpenses = expenses;
+        }
 
-        return AnalyticsResponse.builder()
-                .totalExpenses(totalExpenses)
-                .totalTransactions(totalTransactions)
-                .averageExpense(averageExpense)
-                .highestExpense(highestExpense)
-                .lowestExpense(lowestExpense)
-                .categoryBreakdown(categoryBreakdown)
-                .monthlyTrends(monthlyTrends)
-                .paymentMethodBreakdown(paymentMethodBreakdown)
+        Map<String, DailyTotals> spendByCategory = DailyTotals.byCategory(budgetExpenses, budgetStart, today);
+        List<BudgetResponse> budgetResponses = new ArrayList<>();
+        List<BudgetStatusResponse> statuses = new ArrayList<>();
+        for (Budget budget : budgets) {
+            String categoryName = budgetService.categoryName(budget.getCategoryId(), categoryNames);
+            budgetResponses.add(BudgetResponse.fromBudget(budget, categoryName));
+            statuses.add(budgetService.getBudgetStatus(budget, categoryName, spendByCategory, today));
+        }
+
+        return DashboardResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .summary(toSummary(new SpendAccumulator(startDate, endDate).addAll(expenses), categoryNames))
+                .budgets(budgetResponses)
+                .budgetStatuses(statuses)
                 .build();
     }
 
     public List<AnalyticsResponse.CategoryBreakdown> getCategoryWiseExpenses(String userId,
             LocalDate startDate, LocalDate endDate) {
-        List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate);
-
-        BigDecimal totalExpenses = expenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return getCategoryBreakdown(userId, expenses, totalExpenses);
+        return getCategoryBreakdown(accumulate(userId, startDate, endDate), categoryNames(userId));
     }
 
     public List<AnalyticsResponse.MonthlyTrend> getMonthlyExpenses(String userId, LocalDate startDate, LocalDate endDate) {
-        List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate);
-        return getMonthlyTrends(expenses);
+        return getMonthlyTrends(accumulate(userId, startDate, endDate));
     }
 
     public AnalyticsResponse.MonthlyTrend getTrendAnalysis(String userId, LocalDate startDate, LocalDate endDate) {
-        List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate);
-
-        BigDecimal totalAmount = expenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        SpendAccumulator spend = accumulate(userId, startDate, endDate);
 
         return AnalyticsResponse.MonthlyTrend.builder()
                 .month(startDate.toString() + " to " + endDate.toString())
-                .amount(totalAmount)
-                .count(expenses.size())
+                .amount(MinorUnits.toAmount(spend.getTotal()))
+                .count(spend.getCount())
                 .build();
     }
 
-    private List<AnalyticsResponse.CategoryBreakdown> getCategoryBreakdown(String userId,
-            List<Expense> expenses, BigDecimal totalExpenses) {
+    public PeriodComparisonResponse getPeriodComparison(String userId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+
+        LocalDate[] previousPeriod = previousPeriod(startDate, endDate);
+        LocalDate previousYearStart = startDate.minusYears(1);
+        LocalDate previousYearEnd = endDate.minusYears(1);
+
+        // One fetch over the widest range; every window below is answered from its daily partial sums
+        LocalDate scanStart = previousYearStart.isBefore(previousPeriod[0]) ? previousYearStart : previousPeriod[0];
+        DailyTotals totals = dailyTotals(userId, scanStart, endDate);
+
+        PeriodComparisonResponse.PeriodTotal current = periodTotal(totals, startDate, endDate);
+        PeriodComparisonResponse.PeriodTotal previous = periodTotal(totals, previousPeriod[0], previousPeriod[1]);
+        PeriodComparisonResponse.PeriodTotal previousYear = periodTotal(totals, previousYearStart, previousYearEnd);
+
+        return PeriodComparisonResponse.builder()
+                .currentPeriod(current)
+                .previousPeriod(previous)
+                .previousYear(previousYear)
+                .changeFromPreviousPeriod(current.getAmount().subtract(previous.getAmount()))
+                .percentageChangeFromPreviousPeriod(percentageChange(current.getAmount(), previous.getAmount()))
+                .changeFromPreviousYear(current.getAmount().subtract(previousYear.getAmount()))
+                .percentageChangeFromPreviousYear(percentageChange(current.getAmount(), previousYear.getAmount()))
+                .build();
+    }
 
-        Map<String, List<Expense>> expensesByCategory = expenses.stream()
-                .collect(Collectors.groupingBy(e -> e.getCategoryId() != null ? e.getCategoryId() : "uncategorized"));
+    public List<AnalyticsResponse.DailyTrend> getRollingAverages(String userId, LocalDate startDate,
+            LocalDate endDate, int windowDays) {
+        if (windowDays < 1 || windowDays > maxWindowDays) {
+            throw new BadRequestException("Window size must be between 1 and " + maxWindowDays + " days");
+        }
+        validateRange(startDate, endDate);
 
-        List<AnalyticsResponse.CategoryBreakdown> breakdown = new ArrayList<>();
+        LocalDate scanStart = startDate.minusDays(windowDays - 1L);
+        DailyTotals totals = dailyTotals(userId, scanStart, endDate);
+
+        BigDecimal window = BigDecimal.valueOf(windowDays);
+        List<AnalyticsResponse.DailyTrend> trends = new ArrayList<>();
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            BigDecimal windowTotal = totals.sum(date.minusDays(windowDays - 1L), date);
+            trends.add(AnalyticsResponse.DailyTrend.builder()
+                    .date(date)
+                    .amount(totals.amountOn(date))
+                    .windowTotal(windowTotal)
+                    .movingAverage(windowTotal.divide(window, 2, RoundingMode.HALF_UP))
+                    .build());
+        }
+
+        return trends;
+    }
+
+    private SpendAccumulator accumulate(String userId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        SpendAccumulator spend = new SpendAccumulator(startDate, endDate);
+        Optional<ExpenseColumns> hotSet = hotSetCache.get(userId, startDate);
+        if (hotSet.isPresent()) {
+            hotSet.get().accumulate(spend, startDate, endDate);
+            return spend;
+        }
+
+        LocalDate horizon = ExpenseRepositoryCustom.archiveHorizon(LocalDate.now(), horizonMonths);
+        List<Expense> hot = expenseRepository.findHotByUserIdAndExpenseDateBetween(userId, startDate, endDate);
+        spend.addAll(hot);
+        if (!startDate.isBefore(horizon)) {
+            return spend;
+        }
+
+        accumulateArchived(spend, userId, hot, startDate, endDate.isBefore(horizon) ? endDate : horizon.minusDays(1));
+        return spend;
+    }
+
+    /**
+     * Adds the archived part of a range: whole months come from their monthly summaries, and only
+     * partial or not-yet-summarized months read archived expenses.
+     */
+    private void accumulateArchived(SpendAccumulator spend, String userId, List<Expense> hot,
+            LocalDate startDate, LocalDate endDate) {
+        Map<YearMonth, ExpenseMonthlySummary> summaries = monthlySummaryRepository
+                .findByUserIdAndMonthStartBetween(userId, startDate.withDayOfMonth(1), endDate).stream()
+                .collect(Collectors.toMap(summary -> YearMonth.from(summary.getMonthStart()), Function.identity()));
+
+        Set<YearMonth> summarized = new HashSet<>();
+        LocalDate gapStart = null;
+        LocalDate gapEnd = null;
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+            ExpenseMonthlySummary summary = summaries.get(month);
+            boolean whole = !month.atDay(1).isBefore(startDate) && !month.atEndOfMonth().isAfter(endDate);
+            if (whole && summary != null) {
+                addSummary(spend, summary);
+                summarized.add(month);
+                continue;
+            }
+            if (gapStart == null) {
+                gapStart = month.atDay(1).isBefore(startDate) ? startDate : month.atDay(1);
+            }
+            gapEnd = month.atEndOfMonth().isAfter(endDate) ? endDate : month.atEndOfMonth();
+        }
+
+        if (gapStart == null) {
+            return;
+        }
+        Set<String> hotIds = new HashSet<>();
+        hot.forEach(expense -> hotIds.add(expense.getId()));
+        for (Expense archived : expenseRepository.findArchivedByUserIdAndExpenseDateBetween(userId, gapStart, gapEnd)) {
+            if (!summarized.contains(YearMonth.from(archived.getExpenseDate())) && !hotIds.contains(archived.getId())) {
+                spend.add(archived);
+            }
+        }
+    }
 
-        for (Map.Entry<String, List<Expense>> entry : expensesByCategory.entrySet()) {
-            String categoryId = entry.getKey();
-            List<Expense> categoryExpenses = entry.getValue();
+    private static void addSummary(SpendAccumulator spend, ExpenseMonthlySummary summary) {
+        long epochDay = summary.getMonthStart().toEpochDay();
+        for (ExpenseMonthlySummary.Cell cell : summary.getCells()) {
+            spend.addGroup(epochDay,
+                    spend.categoryOrdinal(cell.getCategoryId()),
+                    SpendAccumulator.paymentMethodOrdinal(cell.getPaymentMethod()),
+                    MinorUnits.of(cell.getAmount()),
+                    cell.getCount());
+        }
+        if (summary.getExpenseCount() > 0) {
+            spend.includeExtremes(MinorUnits.of(summary.getHighestAmount()), MinorUnits.of(summary.getLowestAmount()));
+        }
+    }
+
+    private DailyTotals dailyTotals(String userId, LocalDate startDate, LocalDate endDate) {
+        return hotSetCache.get(userId, startDate)
+                .map(columns -> columns.dailyTotals(startDate, endDate))
+                .orElseGet(() -> DailyTotals.of(
+                        expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate),
+                        startDate, endDate));
+    }
+
+    private LocalDate[] previousPeriod(LocalDate startDate, LocalDate endDate) {
+        // Whole calendar months compare against the preceding months; anything else against the preceding days
+        if (startDate.getDayOfMonth() == 1 && endDate.equals(endDate.withDayOfMonth(endDate.lengthOfMonth()))) {
+            long months = ChronoUnit.MONTHS.between(startDate, endDate.plusDays(1));
+            LocalDate previousStart = startDate.minusMonths(months);
+            return new LocalDate[] { previousStart, startDate.minusDays(1) };
+        }
+
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        return new LocalDate[] { startDate.minusDays(days), startDate.minusDays(1) };
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException("Start date must not be after end date");
+        }
+        // Bounded so the daily arrays and the shifted comparison windows stay small and representable
+        if (startDate.getYear() < 1 || endDate.getYear() > 9999) {
+            throw new BadRequestException("Dates must fall between years 0001 and 9999");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxRangeDays) {
+            throw new BadRequestException("Date range must not exceed " + maxRangeDays + " days");
+        }
+    }
+
+    private PeriodComparisonResponse.PeriodTotal periodTotal(DailyTotals totals, LocalDate startDate, LocalDate endDate) {
+        return PeriodComparisonResponse.PeriodTotal.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .amount(totals.sum(startDate, endDate))
+                .count(totals.count(startDate, endDate))
+                .build();
+    }
+
+    private Double percentageChange(BigDecimal current, BigDecimal previous) {
+        if (previous.compareTo(BigDecimal.ZERO) == 0) {
+            return null;
+        }
+        return current.subtract(previous).divide(previous, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100)).doubleValue();
+    }
+
+    private AnalyticsResponse toSummary(SpendAccumulator spend, Map<String, String> categoryNames) {
+        if (spend.getCount() == 0) {
+            return AnalyticsResponse.builder()
+                    .totalExpenses(BigDecimal.ZERO)
+                    .totalTransactions(0)
+                    .averageExpense(BigDecimal.ZERO)
+                    .highestExpense(BigDecimal.ZERO)
+                    .lowestExpense(BigDecimal.ZERO)
+                    .categoryBreakdown(new ArrayList<>())
+                    .monthlyTrends(new ArrayList<>())
+                    .paymentMethodBreakdown(new HashMap<>())
+                    .build();
+        }
 
-            BigDecimal categoryTotal = categoryExpenses.stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalExpenses = MinorUnits.toAmount(spend.getTotal());
+        BigDecimal averageExpense = spend.getCount() > 0
+                ? totalExpenses.divide(BigDecimal.valueOf(spend.getCount()), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return AnalyticsResponse.builder()
+                .totalExpenses(totalExpenses)
+                .totalTransactions(spend.getCount())
+                .averageExpense(averageExpense)
+                .highestExpense(MinorUnits.toAmount(spend.getHighest()))
+                .lowestExpense(MinorUnits.toAmount(spend.getLowest()))
+                .categoryBreakdown(getCategoryBreakdown(spend, categoryNames))
+                .monthlyTrends(getMonthlyTrends(spend))
+                .paymentMethodBreakdown(getPaymentMethodBreakdown(spend))
+                .build();
+    }
+
+    private List<AnalyticsResponse.CategoryBreakdown> getCategoryBreakdown(SpendAccumulator spend,
+            Map<String, String> categoryNames) {
+        List<AnalyticsResponse.CategoryBreakdown> breakdown = new ArrayList<>();
+        BigDecimal totalExpenses = MinorUnits.toAmount(spend.getTotal());
+
+        for (int ordinal = 0; ordinal < spend.getCategoryCount(); ordinal++) {
+            if (spend.getCategoryExpenseCount(ordinal) == 0) {
+                continue;
+            }
+            String categoryId = spend.getCategoryId(ordinal);
+            BigDecimal categoryTotal = MinorUnits.toAmount(spend.getCategoryTotal(ordinal));
 
             double percentage = totalExpenses.compareTo(BigDecimal.ZERO) > 0
                     ? categoryTotal.divide(totalExpenses, 4, RoundingMode.HALF_UP)
                             .multiply(BigDecimal.valueOf(100)).doubleValue()
                     : 0.0;
 
-            String categoryName = "uncategorized".equals(categoryId)
+            String categoryName = SpendAccumulator.UNCATEGORIZED.equals(categoryId)
                     ? "Uncategorized"
-                    : categoryRepository.findByIdAndUserId(categoryId, userId)
-                            .map(c -> c.getName())
-                            .orElse("Unknown");
+                    : categoryNames.getOrDefault(categoryId, "Unknown");
 
             breakdown.add(AnalyticsResponse.CategoryBreakdown.builder()
                     .categoryId(categoryId)
                     .categoryName(categoryName)
                     .amount(categoryTotal)
-                    .count(categoryExpenses.size())
+                    .count(spend.getCategoryExpenseCount(ordinal))
                     .percentage(percentage)
                     .build());
         }
@@ -148,33 +390,44 @@ public class AnalyticsService {
         return breakdown;
     }
 
-    private List<AnalyticsResponse.MonthlyTrend> getMonthlyTrends(List<Expense> expenses) {
-        Map<String, List<Expense>> expensesByMonth = expenses.stream()
-                .collect(Collectors.groupingBy(e -> e.getExpenseDate().getYear() + "-"
-                        + String.format("%02d", e.getExpenseDate().getMonthValue())));
-
+    private List<AnalyticsResponse.MonthlyTrend> getMonthlyTrends(SpendAccumulator spend) {
         List<AnalyticsResponse.MonthlyTrend> trends = new ArrayList<>();
 
-        for (Map.Entry<String, List<Expense>> entry : expensesByMonth.entrySet()) {
-            BigDecimal monthTotal = entry.getValue().stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
+        for (int month = 0; month < spend.getMonthCount(); month++) {
+            if (spend.getMonthExpenseCount(month) == 0) {
+                continue;
+            }
             trends.add(AnalyticsResponse.MonthlyTrend.builder()
-                    .month(entry.getKey())
-                    .amount(monthTotal)
-                    .count(entry.getValue().size())
+                    .month(spend.getMonth(month).toString())
+                    .amount(MinorUnits.toAmount(spend.getMonthTotal(month)))
+                    .count(spend.getMonthExpenseCount(month))
                     .build());
         }
 
-        trends.sort((a, b) -> a.getMonth().compareTo(b.getMonth()));
         return trends;
     }
 
-    private Map<String, BigDecimal> getPaymentMethodBreakdown(List<Expense> expenses) {
-        return expenses.stream()
-                .collect(Collectors.groupingBy(
-                        e -> e.getPaymentMethod() != null ? e.getPaymentMethod().name() : "UNKNOWN",
-                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)));
+    private Map<String, BigDecimal> getPaymentMethodBreakdown(SpendAccumulator spend) {
+        Map<String, BigDecimal> breakdown = new HashMap<>();
+
+        for (int ordinal = 0; ordinal < spend.getPaymentMethodCount(); ordinal++) {
+            if (spend.getPaymentMethodExpenseCount(ordinal) > 0) {
+                breakdown.put(spend.getPaymentMethodName(ordinal),
+                        MinorUnits.toAmount(spend.getPaymentMethodTotal(ordinal)));
+            }
+        }
+
+        return breakdown;
+    }
+
+    /**
+     * Category names by id from the cached category list, instead of one lookup per category.
+     */
+    private Map<String, String> categoryNames(String userId) {
+        Map<String, String> names = new HashMap<>();
+        for (CategoryResponse category : categoryService.getAllCategories(userId)) {
+            names.put(category.getId(), category.getName());
+        }
+        return names;
     }
 }
@@ -0,0 +1,81 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.response.AnalyticsResponse;
+import com.expensetracker.model.AnalyticsSnapshot;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Tombstone;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Stores precomputed expense summaries shared by every instance. A snapshot is served only if the
+ * user has no expense or category updated, and nothing deleted, since it was computed; each of those
+ * checks is one read on an existing {userId, updatedAt} or {userId, deletedAt} index.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalyticsSnapshotService {
+
+    // Writes stamped just before a computation started may land after its read
+    private static final long CLOCK_MARGIN_SECONDS = 5;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.analytics.precompute.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.analytics.precompute.snapshot-ttl-hours:48}")
+    private int snapshotTtlHours;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<AnalyticsResponse> find(String userId, LocalDate startDate, LocalDate endDate) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        AnalyticsSnapshot snapshot = mongoTemplate.findById(
+                AnalyticsSnapshot.idOf(userId, startDate, endDate), AnalyticsSnapshot.class);
+        if (snapshot == null || changedSince(userId, snapshot.getComputedAt())) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.getSummary());
+    }
+
+    /**
+     * Saves a summary whose source data was read no earlier than {@code startedAt}.
+     */
+    public void save(String userId, LocalDate startDate, LocalDate endDate, AnalyticsResponse summary,
+            LocalDateTime startedAt) {
+        mongoTemplate.save(AnalyticsSnapshot.builder()
+                .id(AnalyticsSnapshot.idOf(userId, startDate, endDate))
+                .userId(userId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .summary(summary)
+                .computedAt(startedAt.minusSeconds(CLOCK_MARGIN_SECONDS))
+                .expiresAt(startedAt.plusHours(snapshotTtlHours))
+                .build());
+    }
+
+    private boolean changedSince(String userId, LocalDateTime since) {
+        Query updated = Query.query(Criteria.where("userId").is(userId).and("updatedAt").gte(since));
+        return mongoTemplate.exists(updated, Expense.class)
+                || mongoTemplate.exists(updated, Category.class)
+                || mongoTemplate.exists(Query.query(Criteria.where("userId").is(userId).and("deletedAt").gte(since)),
+                        Tombstone.class);
+    }
+}
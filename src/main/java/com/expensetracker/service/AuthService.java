@@ -6,6 +6,7 @@ import com.expensetracker.dto.response.AuthResponse;
 import com.expensetracker.dto.response.UserResponse;
 import com.expensetracker.exception.BadRequestException;
 import com.expensetracker.exception.UnauthorizedException;
+import com.expensetracker.model.RefreshToken;
 import com.expensetracker.model.User;
 import com.expensetracker.repository.UserRepository;
 import com.expensetracker.util.JwtUtil;
@@ -19,6 +20,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -29,6 +32,8 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final LoginAttemptService loginAttemptService;
+    private final RefreshTokenService refreshTokenService;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -56,12 +61,16 @@ public class AuthService {
             log.error("Failed to send welcome email to {}: {}", user.getEmail(), e.getMessage());
         }
 
-        return generateAuthResponse(user);
+        return generateAuthResponse(user, refreshTokenService.newFamily());
     }
 
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String client) {
+        String email = request.getEmail().toLowerCase();
+        loginAttemptService.acquire(email, client);
+
         Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail().toLowerCase(), request.getPassword()));
+                new UsernamePasswordAuthenticationToken(email, request.getPassword()));
+        loginAttemptService.recordSuccess(email, client);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -73,28 +82,30 @@ public class AuthService {
         }
 
         log.info("User logged in successfully: {}", user.getEmail());
-        return generateAuthResponse(user);
+        return generateAuthResponse(user, refreshTokenService.newFamily());
     }
 
     public AuthResponse refreshToken(String refreshToken) {
-        if (!jwtUtil.validateToken(refreshToken)) {
-            throw new UnauthorizedException("Invalid or expired refresh token");
-        }
+        RefreshToken consumed = refreshTokenService.consume(refreshToken);
 
-        String userId = jwtUtil.extractUserId(refreshToken);
-        User user = userRepository.findById(userId)
+        User user = userRepository.findById(consumed.getUserId())
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
 
         if (!user.getIsActive()) {
             throw new UnauthorizedException("Account is deactivated");
         }
 
-        return generateAuthResponse(user);
+        return generateAuthResponse(user, consumed.getFamilyId());
+    }
+
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
     }
 
-    private AuthResponse generateAuthResponse(User user) {
-        String accessToken = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getId());
+    private AuthResponse generateAuthResponse(User user, String familyId) {
+        userRepository.updateLastActiveAt(user.getId(), LocalDateTime.now());
+        String accessToken = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name(), familyId);
+        String refreshToken = refreshTokenService.issue(user.getId(), familyId);
 
         return AuthResponse.of(
                 accessToken,
@@ -0,0 +1,314 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.response.BudgetAlertResponse;
+import com.expensetracker.dto.response.BudgetStatusResponse;
+import com.expensetracker.dto.response.PageResponse;
+import com.expensetracker.model.BudgetAlert;
+import com.expensetracker.repository.BudgetAlertRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Lists budget alerts and pushes new ones, plus refreshed budget statuses, to clients connected over
+ * Server-Sent Events. Open streams are parked async requests, so an idle connection holds a socket
+ * but no thread. Messages reach this node through the {@link AlertBroker}; only users with a stream
+ * open here cost anything, and their status refreshes are coalesced over a short debounce window.
+ * <p>
+ * Status reads run on a small bounded pool. Every connection has its own bounded event queue, drained
+ * by a shared sender pool one event at a time, so a client that stops reading only ever blocks its
+ * own queue; it is dropped once that queue fills up or a single send takes longer than the timeout.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BudgetAlertService {
+
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final BudgetService budgetService;
+    private final AlertBroker alertBroker;
+
+    @Value("${app.alerts.stream-timeout-ms:1800000}")
+    private long streamTimeoutMillis;
+
+    @Value("${app.alerts.heartbeat-ms:25000}")
+    private long heartbeatMillis;
+
+    @Value("${app.alerts.status-debounce-ms:1000}")
+    private long statusDebounceMillis;
+
+    @Value("${app.alerts.max-streams-per-user:5}")
+    private int maxStreamsPerUser;
+
+    @Value("${app.alerts.status-threads:2}")
+    private int statusThreads;
+
+    @Value("${app.alerts.status-queue:1000}")
+    private int statusQueue;
+
+    @Value("${app.alerts.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${app.alerts.max-pending-events:100}")
+    private int maxPendingEvents;
+
+    @Value("${app.alerts.send-timeout-ms:10000}")
+    private long sendTimeoutMillis;
+
+    private final Map<String, List<Connection>> streams = new ConcurrentHashMap<>();
+    private final Set<String> pendingStatus = ConcurrentHashMap.newKeySet();
+
+    // Timers only: heartbeats and debounce deadlines hand their work to the pools below
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            daemonThreads("alert-stream-timer"));
+
+    private ExecutorService statusExecutor;
+    private ExecutorService sendExecutor;
+
+    @PostConstruct
+    public void init() {
+        statusExecutor = new ThreadPoolExecutor(statusThreads, statusThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(statusQueue), daemonThreads("alert-status"));
+        // One drain task per connection at most, so the queue is bounded by the number of open streams
+        sendExecutor = Executors.newFixedThreadPool(sendThreads, daemonThreads("alert-send"));
+        alertBroker.subscribe(this::deliver);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        statusExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+        streams.values().forEach(connections -> connections.forEach(connection -> connection.emitter.complete()));
+        streams.clear();
+    }
+
+    public PageResponse<BudgetAlertResponse> getAlerts(String userId, int page, int size) {
+        Page<BudgetAlert> alerts = budgetAlertRepository.findByUserId(userId,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "triggeredAt")));
+        return PageResponse.from(alerts, alerts.getContent().stream()
+                .map(BudgetAlertResponse::fromAlert)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Opens a stream for the user. Alerts raised after {@code lastEventId} are replayed first, then the
+     * current budget statuses are sent. Beyond the per-user limit the oldest stream is closed.
+     */
+    public SseEmitter subscribe(String userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(connection));
+
+        List<Connection> connections = streams.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>());
+        connections.add(connection);
+        while (connections.size() > maxStreamsPerUser) {
+            connections.get(0).close(true);
+        }
+
+        if (lastEventId != null && ObjectId.isValid(lastEventId)) {
+            submitRead(userId, () -> budgetAlertRepository
+                    .findTop100ByUserIdAndIdGreaterThanOrderByIdAsc(userId, lastEventId)
+                    .forEach(alert -> connection.enqueue(alertEvent(BudgetAlertResponse.fromAlert(alert)))));
+        }
+        requestStatus(userId);
+        return emitter;
+    }
+
+    @EventListener
+    public void onDataChanged(DataVersionService.Changed event) {
+        alertBroker.publish(AlertBroker.Message.statusChanged(event.userId()));
+    }
+
+    private void deliver(AlertBroker.Message message) {
+        if (!streams.containsKey(message.userId())) {
+            return;
+        }
+        if (AlertBroker.BUDGET_ALERT.equals(message.event()) && message.alert() != null) {
+            broadcast(message.userId(), alertEvent(message.alert()));
+        } else {
+            requestStatus(message.userId());
+        }
+    }
+
+    private void requestStatus(String userId) {
+        if (!pendingStatus.add(userId)) {
+            return;
+        }
+        scheduler.schedule(() -> {
+            if (!submitRead(userId, () -> refreshStatus(userId))) {
+                pendingStatus.remove(userId);
+            }
+        }, statusDebounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void refreshStatus(String userId) {
+        pendingStatus.remove(userId);
+        if (!streams.containsKey(userId)) {
+            return;
+        }
+        List<BudgetStatusResponse> statuses = budgetService.getActiveBudgetStatuses(userId);
+        broadcast(userId, SseEmitter.event().name(AlertBroker.BUDGET_STATUS).data(statuses));
+    }
+
+    /**
+     * Runs a database read for a stream on the status pool. When the pool is saturated the read is
+     * dropped; the next change for the user asks again.
+     */
+    private boolean submitRead(String userId, Runnable read) {
+        try {
+            statusExecutor.execute(() -> {
+                try {
+                    read.run();
+                } catch (RuntimeException e) {
+                    log.warn("Could not load alert stream data for user {}: {}", userId, e.getMessage());
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Alert status pool saturated, skipping refresh for user {}", userId);
+            return false;
+        }
+    }
+
+    private void heartbeat() {
+        long stalledSince = System.currentTimeMillis() - sendTimeoutMillis;
+        streams.values().forEach(connections -> connections.forEach(connection -> {
+            long sendingSince = connection.sendingSince;
+            if (sendingSince != 0 && sendingSince < stalledSince) {
+                log.debug("Closing alert stream for user {}: send stalled", connection.userId);
+                connection.close(true);
+            } else {
+                connection.enqueue(SseEmitter.event().comment("keep-alive"));
+            }
+        }));
+    }
+
+    private void broadcast(String userId, SseEmitter.SseEventBuilder event) {
+        List<Connection> connections = streams.get(userId);
+        if (connections != null) {
+            connections.forEach(connection -> connection.enqueue(event));
+        }
+    }
+
+    private void remove(Connection connection) {
+        connection.closed = true;
+        streams.computeIfPresent(connection.userId, (id, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder alertEvent(BudgetAlertResponse alert) {
+        return SseEmitter.event().id(alert.getId()).name(AlertBroker.BUDGET_ALERT).data(alert);
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One open stream and its pending events, sent in order by at most one sender thread at a time.
+     */
+    private final class Connection {
+
+        final String userId;
+        final SseEmitter emitter;
+        final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pendingCount = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile long sendingSince;
+        volatile boolean closed;
+
+        Connection(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                log.debug("Closing alert stream for user {}: {} events pending", userId, maxPendingEvents);
+                close(true);
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        void close(boolean complete) {
+            remove(this);
+            pending.clear();
+            if (complete) {
+                emitter.complete();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (!closed && !pending.isEmpty() && draining.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    sendingSince = System.currentTimeMillis();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away; the container completes the request on its own
+                        close(false);
+                    } finally {
+                        sendingSince = 0;
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // An event enqueued after the last poll but before the flag was cleared
+            scheduleDrain();
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.expensetracker.service;
 
 import com.expensetracker.dto.request.BudgetRequest;
+import com.expensetracker.dto.response.BudgetAlertResponse;
+import com.expensetracker.dto.response.BudgetForecastResponse;
 import com.expensetracker.dto.response.BudgetResponse;
 import com.expensetracker.dto.response.BudgetStatusResponse;
 import com.expensetracker.exception.ResourceNotFoundException;
 import com.expensetracker.model.Budget;
 import com.expensetracker.model.BudgetAlert;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Tombstone;
 import com.expensetracker.repository.BudgetAlertRepository;
 import com.expensetracker.repository.BudgetRepository;
 import com.expensetracker.repository.CategoryRepository;
 import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.util.DailyTotals;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,7 +24,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,22 +37,32 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BudgetService {
 
+    /**
+     * Minimum days into a period before a projection is trusted enough to raise an early alert.
+     */
+    private static final int MIN_FORECAST_DAYS = 7;
+
     private final BudgetRepository budgetRepository;
     private final BudgetAlertRepository budgetAlertRepository;
     private final ExpenseRepository expenseRepository;
     private final CategoryRepository categoryRepository;
     private final EmailService emailService;
+    private final DataVersionService dataVersionService;
+    private final SyncService syncService;
+    private final AlertBroker alertBroker;
 
     public List<BudgetResponse> getAllBudgets(String userId) {
         List<Budget> budgets = budgetRepository.findByUserId(userId);
+        Map<String, String> categoryNames = categoryNames(userId);
         return budgets.stream()
-                .map(budget -> {
-                    String categoryName = getCategoryName(budget.getCategoryId(), userId);
-                    return BudgetResponse.fromBudget(budget, categoryName);
-                })
+                .map(budget -> BudgetResponse.fromBudget(budget, categoryName(budget.getCategoryId(), categoryNames)))
                 .collect(Collectors.toList());
     }
 
+    public List<Budget> getBudgetEntities(String userId) {
+        return budgetRepository.findByUserId(userId);
+    }
+
     public BudgetResponse getBudgetById(String budgetId, String userId) {
         Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Budget", "id", budgetId));
@@ -64,6 +85,7 @@ public class BudgetService {
                 .build();
 
         budget = budgetRepository.save(budget);
+        dataVersionService.bump(userId);
         log.info("Budget created: {} for user: {}", budget.getId(), userId);
 
         String categoryName = getCategoryName(budget.getCategoryId(), userId);
@@ -98,6 +120,7 @@ public class BudgetService {
         }
 
         budget = budgetRepository.save(budget);
+        dataVersionService.bump(userId);
         log.info("Budget updated: {}", budget.getId());
 
         String categoryName = getCategoryName(budget.getCategoryId(), userId);
@@ -111,6 +134,8 @@ public class BudgetService {
 
         budgetAlertRepository.deleteByBudgetId(budgetId);
         budgetRepository.delete(budget);
+        syncService.recordDeletion(userId, Tombstone.EntityType.BUDGET, List.of(budgetId));
+        dataVersionService.bump(userId);
         log.info("Budget deleted: {}", budgetId);
     }
 
@@ -134,6 +159,99 @@ public class BudgetService {
                 spentAmount);
     }
 
+    /**
+     * Status from per-category daily totals already loaded for a range that covers the budget's period.
+     */
+    public BudgetStatusResponse getBudgetStatus(Budget budget, String categoryName,
+            Map<String, DailyTotals> spendByCategory, LocalDate today) {
+        BigDecimal spentAmount = DailyTotals.sum(spendByCategory, budget.getCategoryId(),
+                calculatePeriodStartDate(budget), today);
+
+        return BudgetStatusResponse.of(
+                budget.getId(),
+                budget.getName(),
+                budget.getCategoryId(),
+                categoryName,
+                budget.getLimitAmount(),
+                spentAmount);
+    }
+
+    /**
+     * Status of every active budget. Spend for all of them comes from one aggregation grouped by
+     * category with a conditional sum per distinct period start, and category names from one query.
+     */
+    public List<BudgetStatusResponse> getActiveBudgetStatuses(String userId) {
+        List<Budget> budgets = budgetRepository.findByUserIdAndIsActiveTrue(userId);
+        if (budgets.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        LocalDate today = LocalDate.now();
+        Map<String, Map<LocalDate, BigDecimal>> spent = expenseRepository.sumAmountByCategorySince(userId,
+                budgets.stream().map(this::calculatePeriodStartDate).collect(Collectors.toSet()), today);
+        Map<String, String> categoryNames = categoryNames(userId);
+
+        return budgets.stream()
+                .map(budget -> {
+                    LocalDate startDate = calculatePeriodStartDate(budget);
+                    BigDecimal spentAmount = budget.getCategoryId() != null
+                            ? spent.getOrDefault(budget.getCategoryId(), Map.of()).getOrDefault(startDate, BigDecimal.ZERO)
+                            : spent.values().stream()
+                                    .map(windows -> windows.getOrDefault(startDate, BigDecimal.ZERO))
+                                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    return BudgetStatusResponse.of(
+                            budget.getId(),
+                            budget.getName(),
+                            budget.getCategoryId(),
+                            categoryName(budget.getCategoryId(), categoryNames),
+                            budget.getLimitAmount(),
+                            spentAmount);
+                })
+                .collect(Collectors.toList());
+    }
+
+    public List<BudgetForecastResponse> getBudgetForecasts(String userId) {
+        List<Budget> budgets = budgetRepository.findByUserIdAndIsActiveTrue(userId);
+        if (budgets.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate scanStart = budgets.stream()
+                .map(this::calculatePeriodStartDate)
+                .min(Comparator.naturalOrder())
+                .orElse(today);
+
+        LocalDate scanEnd = budgets.stream()
+                .map(budget -> calculatePeriodEndDate(budget, calculatePeriodStartDate(budget)))
+                .max(Comparator.naturalOrder())
+                .orElse(today);
+
+        // One fetch of the widest period, pre-aggregated per category and day, serves every budget
+        SpendProfile profile = loadSpendProfile(
+                expenseRepository.findByUserIdAndExpenseDateBetween(userId, scanStart, today),
+                scanStart, today, expenseRepository.findRecurringDueBy(userId, null, today, scanEnd));
+
+        Map<String, String> categoryNames = categoryNames(userId);
+        return budgets.stream()
+                .map(budget -> forecast(budget, categoryName(budget.getCategoryId(), categoryNames), profile, today))
+                .collect(Collectors.toList());
+    }
+
+    public BudgetForecastResponse getBudgetForecast(String budgetId, String userId) {
+        Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget", "id", budgetId));
+
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = calculatePeriodStartDate(budget);
+        SpendProfile profile = loadSpendProfile(
+                findPeriodExpenses(userId, budget.getCategoryId(), startDate, today),
+                startDate, today, expenseRepository.findRecurringDueBy(userId, budget.getCategoryId(),
+                        today, calculatePeriodEndDate(budget, startDate)));
+
+        return forecast(budget, getCategoryName(budget.getCategoryId(), userId), profile, today);
+    }
+
     @Transactional
     public void checkBudgetAndAlert(String userId, String categoryId) {
         budgetRepository.findByUserIdAndCategoryIdAndIsActiveTrue(userId, categoryId)
@@ -151,6 +269,22 @@ public class BudgetService {
                     } else if (percentageUsed >= budget.getAlertThreshold()) {
                         createAlertIfNotExists(budget, userId, BudgetAlert.AlertType.THRESHOLD_REACHED,
                                 "Budget alert! You have spent " + String.format("%.2f", percentageUsed) + "% of your budget.");
+                    } else if (ChronoUnit.DAYS.between(startDate, endDate) + 1 >= MIN_FORECAST_DAYS
+                            && !budgetAlertRepository.existsByBudgetIdAndAlertTypeAndTriggeredAtAfter(
+                                    budget.getId(), BudgetAlert.AlertType.PROJECTED_TO_EXCEED, startDate.atStartOfDay())) {
+                        // Only the split between recurring and discretionary spend is needed, summed server-side
+                        BigDecimal recurringSpent = expenseRepository.sumRecurringAmount(userId, categoryId, startDate, endDate);
+                        List<Expense> recurringSeries = latestRecurringOccurrences(expenseRepository.findRecurringDueBy(
+                                userId, categoryId, endDate, calculatePeriodEndDate(budget, startDate)));
+                        BudgetForecastResponse forecast = forecast(budget, null,
+                                spentAmount.subtract(recurringSpent), recurringSpent, recurringSeries, endDate);
+
+                        if (forecast.getOnTrackToExceed()) {
+                            createAlertIfNotExists(budget, userId, BudgetAlert.AlertType.PROJECTED_TO_EXCEED,
+                                    "Budget forecast! At your current pace you will spend " + forecast.getProjectedSpend()
+                                            + " by " + forecast.getPeriodEndDate() + ", "
+                                            + String.format("%.2f", forecast.getProjectedPercentage()) + "% of your budget.");
+                        }
                     }
                 });
     }
@@ -164,8 +298,9 @@ public class BudgetService {
                 .isNotified(false)
                 .build();
 
-        budgetAlertRepository.save(alert);
+        alert = budgetAlertRepository.save(alert);
         log.info("Budget alert created: {} for budget: {}", alertType, budget.getId());
+        alertBroker.publish(AlertBroker.Message.alert(userId, BudgetAlertResponse.fromAlert(alert)));
 
         // Send email notification
         try {
@@ -176,21 +311,121 @@ public class BudgetService {
     }
 
     private BigDecimal calculateSpentAmount(String userId, String categoryId, LocalDate startDate, LocalDate endDate) {
+        return expenseRepository.sumAmount(userId, categoryId, startDate, endDate);
+    }
+
+    private List<Expense> findPeriodExpenses(String userId, String categoryId, LocalDate startDate, LocalDate endDate) {
         if (categoryId != null) {
-            return expenseRepository.findByUserIdAndCategoryIdAndExpenseDateBetween(userId, categoryId, startDate, endDate)
-                    .stream()
-                    .map(expense -> expense.getAmount())
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-        } else {
-            // Calculate sum using stream instead of aggregation query
-            return expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate)
-                    .stream()
-                    .map(expense -> expense.getAmount())
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            return expenseRepository.findByUserIdAndCategoryIdAndExpenseDateBetween(userId, categoryId, startDate, endDate);
+        }
+        return expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate);
+    }
+
+    private SpendProfile loadSpendProfile(List<Expense> expenses, LocalDate startDate, LocalDate endDate,
+            List<Expense> recurringExpenses) {
+        List<Expense> discretionary = new ArrayList<>();
+        List<Expense> recurring = new ArrayList<>();
+        for (Expense expense : expenses) {
+            boolean isRecurring = Boolean.TRUE.equals(expense.getIsRecurring()) || expense.getRecurringSourceId() != null;
+            (isRecurring ? recurring : discretionary).add(expense);
+        }
+
+        return new SpendProfile(
+                DailyTotals.byCategory(discretionary, startDate, endDate),
+                DailyTotals.byCategory(recurring, startDate, endDate),
+                latestRecurringOccurrences(recurringExpenses));
+    }
+
+    /**
+     * Projects end-of-period spend as spend so far, plus the discretionary daily run-rate over the
+     * remaining days, plus recurring expenses still due before the period ends.
+     */
+    private BudgetForecastResponse forecast(Budget budget, String categoryName, SpendProfile profile, LocalDate today) {
+        LocalDate startDate = calculatePeriodStartDate(budget);
+        String categoryId = budget.getCategoryId();
+        return forecast(budget, categoryName,
+                DailyTotals.sum(profile.discretionary(), categoryId, startDate, today),
+                DailyTotals.sum(profile.recurring(), categoryId, startDate, today),
+                profile.recurringSeries(), today);
+    }
+
+    private BudgetForecastResponse forecast(Budget budget, String categoryName, BigDecimal discretionary,
+            BigDecimal recurringSpent, List<Expense> recurringSeries, LocalDate today) {
+        LocalDate startDate = calculatePeriodStartDate(budget);
+        LocalDate endDate = calculatePeriodEndDate(budget, startDate);
+        String categoryId = budget.getCategoryId();
+        BigDecimal spentAmount = discretionary.add(recurringSpent);
+
+        BigDecimal elapsedDays = BigDecimal.valueOf(ChronoUnit.DAYS.between(startDate, today) + 1);
+        BigDecimal remainingDays = BigDecimal.valueOf(Math.max(ChronoUnit.DAYS.between(today, endDate), 0));
+        BigDecimal upcomingRecurring = upcomingRecurringAmount(recurringSeries, categoryId, today, endDate);
+
+        BigDecimal projectedSpend = spentAmount
+                .add(discretionary.multiply(remainingDays).divide(elapsedDays, 2, RoundingMode.HALF_UP))
+                .add(upcomingRecurring);
+        double projectedPercentage = projectedSpend.divide(budget.getLimitAmount(), 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100)).doubleValue();
+
+        return BudgetForecastResponse.builder()
+                .budgetId(budget.getId())
+                .budgetName(budget.getName())
+                .categoryId(categoryId)
+                .categoryName(categoryName)
+                .periodStartDate(startDate)
+                .periodEndDate(endDate)
+                .limitAmount(budget.getLimitAmount())
+                .spentAmount(spentAmount)
+                .dailyRunRate(discretionary.divide(elapsedDays, 2, RoundingMode.HALF_UP))
+                .upcomingRecurringAmount(upcomingRecurring)
+                .projectedSpend(projectedSpend)
+                .projectedPercentage(projectedPercentage)
+                .onTrackToExceed(projectedSpend.compareTo(budget.getLimitAmount()) > 0)
+                .build();
+    }
+
+    private List<Expense> latestRecurringOccurrences(List<Expense> recurringExpenses) {
+        // Users re-enter recurring expenses by hand, so each series is keyed by what it looks like
+        Map<String, Expense> latest = new HashMap<>();
+        for (Expense expense : recurringExpenses) {
+            if (expense.getRecurrencePattern() == null || expense.getExpenseDate() == null) {
+                continue;
+            }
+            String key = expense.getCategoryId() + "|" + expense.getDescription() + "|" + expense.getRecurrencePattern();
+            latest.merge(key, expense, (a, b) -> a.getExpenseDate().isAfter(b.getExpenseDate()) ? a : b);
         }
+        return new ArrayList<>(latest.values());
     }
 
-    private LocalDate calculatePeriodStartDate(Budget budget) {
+    private BigDecimal upcomingRecurringAmount(List<Expense> recurringSeries, String categoryId,
+            LocalDate today, LocalDate endDate) {
+        BigDecimal upcoming = BigDecimal.ZERO;
+
+        for (Expense expense : recurringSeries) {
+            if (categoryId != null && !categoryId.equals(expense.getCategoryId())) {
+                continue;
+            }
+
+            Expense.RecurrencePattern pattern = expense.getRecurrencePattern();
+            LocalDate next = expense.getNextOccurrence();
+            if (next == null) {
+                next = pattern.next(expense.getExpenseDate());
+                if (pattern.next(next).isBefore(today)) {
+                    // Two missed hand-entered occurrences: treat the series as lapsed
+                    continue;
+                }
+            }
+
+            for (; !next.isAfter(endDate); next = pattern.nextAfter(expense.getExpenseDate(), next)) {
+                if (next.isAfter(today)) {
+                    upcoming = upcoming.add(expense.getAmount());
+                }
+            }
+        }
+
+        return upcoming;
+    }
+
+    public LocalDate calculatePeriodStartDate(Budget budget) {
         LocalDate now = LocalDate.now();
         return switch (budget.getPeriodType()) {
             case MONTHLY -> now.withDayOfMonth(1);
@@ -199,6 +434,26 @@ public class BudgetService {
         };
     }
 
+    private LocalDate calculatePeriodEndDate(Budget budget, LocalDate startDate) {
+        return switch (budget.getPeriodType()) {
+            case MONTHLY -> startDate.plusMonths(1).minusDays(1);
+            case QUARTERLY -> startDate.plusMonths(3).minusDays(1);
+            case YEARLY -> startDate.plusYears(1).minusDays(1);
+        };
+    }
+
+    public String categoryName(String categoryId, Map<String, String> categoryNames) {
+        if (categoryId == null) {
+            return "All Categories";
+        }
+        return categoryNames.getOrDefault(categoryId, "Unknown");
+    }
+
+    private Map<String, String> categoryNames(String userId) {
+        return categoryRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName, (a, b) -> a));
+    }
+
     private String getCategoryName(String categoryId, String userId) {
         if (categoryId == null) {
             return "All Categories";
@@ -207,4 +462,8 @@ public class BudgetService {
                 .map(category -> category.getName())
                 .orElse("Unknown");
     }
+
+    private record SpendProfile(Map<String, DailyTotals> discretionary, Map<String, DailyTotals> recurring,
+            List<Expense> recurringSeries) {
+    }
 }
@@ -0,0 +1,211 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.Budget;
+import com.expensetracker.model.CategoryMergeJob;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpenseMonthlySummary;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.ExpenseRepositoryCustom;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Executes category merge jobs in id-bounded batches over both expense tiers. Each batch is one
+ * updateMany that only matches expenses still in the source category, so a job interrupted at any
+ * point picks up where it left off when it is run again. Archived monthly summaries are re-pointed
+ * the same way.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryMergeJobRunner {
+
+    static final long STALE_AFTER_MINUTES = 2;
+
+    private final MongoTemplate mongoTemplate;
+    private final ExpenseRepository expenseRepository;
+    private final CategoryService categoryService;
+    private final BudgetService budgetService;
+    private final ExpenseHotSetCache hotSetCache;
+    private final DataVersionService dataVersionService;
+
+    @Value("${app.category-merge.batch-size:1000}")
+    private int batchSize;
+
+    @Async
+    public void runAsync(String jobId) {
+        run(jobId);
+    }
+
+    /**
+     * Claims and runs the job unless another run holds it with a recent heartbeat.
+     */
+    public void run(String jobId) {
+        CategoryMergeJob job = claim(jobId);
+        if (job == null) {
+            return;
+        }
+
+        try {
+            moveExpenses(job);
+            moveBudgets(job);
+
+            if (Boolean.TRUE.equals(job.getDeleteSource())) {
+                // Expenses added or archived under the source while the job ran are swept up before it is deleted
+                while (expenseRepository.existsByUserIdAndCategoryIdInAnyTier(job.getUserId(), job.getSourceCategoryId())) {
+                    moveExpenses(job);
+                }
+            }
+            moveSummaries(job);
+            if (Boolean.TRUE.equals(job.getDeleteSource())) {
+                categoryService.deleteCategory(job.getSourceCategoryId(), job.getUserId());
+            }
+
+            budgetService.checkBudgetAndAlert(job.getUserId(), job.getTargetCategoryId());
+
+            update(job, new Update()
+                    .set("status", CategoryMergeJob.Status.COMPLETED)
+                    .set("completedAt", LocalDateTime.now()));
+            log.info("Category merge {} completed: {} -> {}", job.getId(), job.getSourceCategoryId(), job.getTargetCategoryId());
+        } catch (Exception e) {
+            log.error("Category merge {} failed: {}", job.getId(), e.getMessage());
+            update(job, new Update()
+                    .set("status", CategoryMergeJob.Status.FAILED)
+                    .set("error", e.getMessage()));
+        } finally {
+            // A failed run may still have moved some expenses and budgets
+            hotSetCache.invalidate(job.getUserId());
+            dataVersionService.bump(job.getUserId());
+        }
+    }
+
+    private CategoryMergeJob claim(String jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria claimable = new Criteria().orOperator(
+                Criteria.where("status").is(CategoryMergeJob.Status.PENDING),
+                Criteria.where("status").is(CategoryMergeJob.Status.RUNNING)
+                        .and("heartbeatAt").lt(now.minusMinutes(STALE_AFTER_MINUTES)));
+
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(jobId)).addCriteria(claimable),
+                new Update().set("status", CategoryMergeJob.Status.RUNNING).set("heartbeatAt", now),
+                FindAndModifyOptions.options().returnNew(true),
+                CategoryMergeJob.class);
+    }
+
+    private void moveExpenses(CategoryMergeJob job) {
+        moveExpenses(job, mongoTemplate.getCollectionName(Expense.class));
+        moveExpenses(job, ExpenseRepositoryCustom.ARCHIVE_COLLECTION);
+    }
+
+    private void moveExpenses(CategoryMergeJob job, String collection) {
+        Criteria remaining = Criteria.where("userId").is(job.getUserId())
+                .and("categoryId").is(job.getSourceCategoryId());
+
+        while (true) {
+            Query batch = Query.query(remaining).limit(batchSize);
+            batch.fields().include("_id");
+            List<Object> ids = mongoTemplate.find(batch, Document.class, collection).stream()
+                    .map(document -> document.get("_id"))
+                    .toList();
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            UpdateResult result = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids).and("categoryId").is(job.getSourceCategoryId())),
+                    new Update().set("categoryId", job.getTargetCategoryId()).set("updatedAt", LocalDateTime.now()),
+                    collection);
+            update(job, new Update().inc("movedExpenses", result.getModifiedCount()));
+        }
+    }
+
+    /**
+     * Re-points the source category's cells in archived monthly summaries, merging each into the
+     * target's cell for the same payment method.
+     */
+    private void moveSummaries(CategoryMergeJob job) {
+        Query affected = Query.query(Criteria.where("userId").is(job.getUserId())
+                .and("cells.categoryId").is(job.getSourceCategoryId()));
+
+        for (ExpenseMonthlySummary summary : mongoTemplate.find(affected, ExpenseMonthlySummary.class)) {
+            Map<String, ExpenseMonthlySummary.Cell> cells = new LinkedHashMap<>();
+            for (ExpenseMonthlySummary.Cell cell : summary.getCells()) {
+                String categoryId = job.getSourceCategoryId().equals(cell.getCategoryId())
+                        ? job.getTargetCategoryId()
+                        : cell.getCategoryId();
+                ExpenseMonthlySummary.Cell merged = cells.computeIfAbsent(categoryId + "|" + cell.getPaymentMethod(),
+                        key -> ExpenseMonthlySummary.Cell.builder()
+                                .categoryId(categoryId)
+                                .paymentMethod(cell.getPaymentMethod())
+                                .amount(BigDecimal.ZERO)
+                                .build());
+                merged.setAmount(merged.getAmount().add(cell.getAmount() != null ? cell.getAmount() : BigDecimal.ZERO));
+                merged.setCount(merged.getCount() + cell.getCount());
+            }
+            summary.setCells(new ArrayList<>(cells.values()));
+            mongoTemplate.save(summary);
+        }
+    }
+
+    private void moveBudgets(CategoryMergeJob job) {
+        Set<String> movedIds = mongoTemplate.find(Query.query(Criteria.where("userId").is(job.getUserId())
+                        .and("categoryId").is(job.getSourceCategoryId())), Budget.class).stream()
+                .map(Budget::getId)
+                .collect(Collectors.toSet());
+        if (movedIds.isEmpty()) {
+            return;
+        }
+
+        UpdateResult result = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(movedIds).and("categoryId").is(job.getSourceCategoryId())),
+                new Update().set("categoryId", job.getTargetCategoryId()).set("updatedAt", LocalDateTime.now()),
+                Budget.class);
+        update(job, new Update().inc("movedBudgets", result.getModifiedCount()));
+
+        // A category may only have one active budget: one the target already had wins, otherwise the newest moved one
+        Query targetActive = Query.query(Criteria.where("userId").is(job.getUserId())
+                        .and("categoryId").is(job.getTargetCategoryId())
+                        .and("isActive").is(true))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        List<Budget> active = mongoTemplate.find(targetActive, Budget.class);
+        if (active.size() < 2) {
+            return;
+        }
+        Budget keep = active.stream()
+                .filter(budget -> !movedIds.contains(budget.getId()))
+                .findFirst()
+                .orElse(active.get(0));
+        List<String> deactivate = active.stream()
+                .map(Budget::getId)
+                .filter(id -> !id.equals(keep.getId()))
+                .toList();
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(deactivate)),
+                new Update().set("isActive", false).set("updatedAt", LocalDateTime.now()), Budget.class);
+    }
+
+    private void update(CategoryMergeJob job, Update update) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(job.getId())),
+                update.set("heartbeatAt", LocalDateTime.now()), CategoryMergeJob.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.request.CategoryMergeRequest;
+import com.expensetracker.dto.response.CategoryMergeJobResponse;
+import com.expensetracker.exception.BadRequestException;
+import com.expensetracker.exception.ResourceNotFoundException;
+import com.expensetracker.model.CategoryMergeJob;
+import com.expensetracker.model.Expense;
+import com.expensetracker.repository.CategoryMergeJobRepository;
+import com.expensetracker.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryMergeService {
+
+    private static final List<CategoryMergeJob.Status> ACTIVE = List.of(
+            CategoryMergeJob.Status.PENDING, CategoryMergeJob.Status.RUNNING);
+
+    private final CategoryMergeJobRepository jobRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryMergeJobRunner jobRunner;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.category-merge.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Moves every expense and budget from one category to another. Categories that fit in one batch
+     * are merged before returning; larger ones continue in the background and can be polled.
+     */
+    public CategoryMergeJobResponse startMerge(String sourceCategoryId, String userId, CategoryMergeRequest request) {
+        if (sourceCategoryId.equals(request.getTargetCategoryId())) {
+            throw new BadRequestException("Cannot merge a category into itself");
+        }
+        categoryRepository.findByIdAndUserId(sourceCategoryId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", sourceCategoryId));
+        categoryRepository.findByIdAndUserId(request.getTargetCategoryId(), userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", request.getTargetCategoryId()));
+        if (jobRepository.existsByUserIdAndSourceCategoryIdAndStatusIn(userId, sourceCategoryId, ACTIVE)) {
+            throw new BadRequestException("A merge for this category is already in progress");
+        }
+
+        long total = mongoTemplate.count(Query.query(Criteria.where("userId").is(userId)
+                .and("categoryId").is(sourceCategoryId)), Expense.class);
+
+        CategoryMergeJob job = jobRepository.save(CategoryMergeJob.builder()
+                .userId(userId)
+                .sourceCategoryId(sourceCategoryId)
+                .targetCategoryId(request.getTargetCategoryId())
+                .deleteSource(request.getDeleteSource() == null || request.getDeleteSource())
+                .totalExpenses(total)
+                .build());
+        log.info("Category merge {} started: {} expenses from {} to {}", job.getId(), total,
+                sourceCategoryId, request.getTargetCategoryId());
+
+        if (total <= batchSize) {
+            jobRunner.run(job.getId());
+        } else {
+            jobRunner.runAsync(job.getId());
+        }
+
+        return getJob(job.getId(), userId);
+    }
+
+    public CategoryMergeJobResponse getJob(String jobId, String userId) {
+        return jobRepository.findByIdAndUserId(jobId, userId)
+                .map(CategoryMergeJobResponse::fromJob)
+                .orElseThrow(() -> new ResourceNotFoundException("Merge job", "id", jobId));
+    }
+
+    /**
+     * Resumes jobs left unfinished by a restart or crash; the runner's claim skips live ones.
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 60000)
+    public void resumeInterruptedJobs() {
+        for (CategoryMergeJob job : jobRepository.findByStatusIn(ACTIVE)) {
+            jobRunner.runAsync(job.getId());
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.expensetracker.dto.response.CategoryResponse;
 import com.expensetracker.exception.BadRequestException;
 import com.expensetracker.exception.ResourceNotFoundException;
 import com.expensetracker.model.Category;
+import com.expensetracker.model.Tombstone;
 import com.expensetracker.repository.CategoryRepository;
 import com.expensetracker.repository.ExpenseRepository;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,8 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ExpenseRepository expenseRepository;
+    private final DataVersionService dataVersionService;
+    private final SyncService syncService;
 
     @Cacheable(value = "categories", key = "#userId")
     public List<CategoryResponse> getAllCategories(String userId) {
@@ -56,6 +59,7 @@ public class CategoryService {
                 .build();
 
         category = categoryRepository.save(category);
+        dataVersionService.bump(userId);
         log.info("Category created: {} for user: {}", category.getId(), userId);
         return CategoryResponse.fromCategory(category);
     }
@@ -85,6 +89,7 @@ public class CategoryService {
         }
 
         category = categoryRepository.save(category);
+        dataVersionService.bump(userId);
         log.info("Category updated: {}", category.getId());
         return CategoryResponse.fromCategory(category);
     }
@@ -95,13 +100,14 @@ public class CategoryService {
         Category category = categoryRepository.findByIdAndUserId(categoryId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
 
-        // Check if category has expenses
-        List<?> expenses = expenseRepository.findByUserIdAndCategoryId(userId, categoryId);
-        if (!expenses.isEmpty()) {
-            throw new BadRequestException("Cannot delete category with existing expenses. Please reassign or delete the expenses first.");
+        // Check if category has expenses, archived ones included
+        if (expenseRepository.existsByUserIdAndCategoryIdInAnyTier(userId, categoryId)) {
+            throw new BadRequestException("Cannot delete category with existing expenses. Please merge it into another category or delete the expenses first.");
         }
 
         categoryRepository.delete(category);
+        syncService.recordDeletion(userId, Tombstone.EntityType.CATEGORY, List.of(categoryId));
+        dataVersionService.bump(userId);
         log.info("Category deleted: {}", categoryId);
     }
 
@@ -0,0 +1,290 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.Budget;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.ChangeStreamCheckpoint;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.User;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails a MongoDB change stream over expenses, categories, budgets and users, and applies every change
+ * to this node's caches and derived projections: the categories cache, the per-user data versions behind
+ * ETags and analytics cache keys, and the analytics hot set. Writes made by other nodes, scripts or batch
+ * jobs therefore invalidate local state just like writes made here. The last processed resume token is
+ * persisted per consumer, so a restarted node replays what it missed.
+ * <p>
+ * Change streams need a replica set; a single-node one is enough for local use. Disabled unless
+ * app.change-stream.enabled is set.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeStreamInvalidationService {
+
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+    private final ExpenseHotSetCache hotSetCache;
+    private final DataVersionService dataVersionService;
+
+    @Value("${app.change-stream.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.change-stream.consumer-id:${HOSTNAME:}}")
+    private String consumerId;
+
+    @Value("${app.change-stream.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.change-stream.max-await-ms:1000}")
+    private long maxAwaitMillis;
+
+    @Value("${app.change-stream.retry-delay-ms:5000}")
+    private long retryDelayMillis;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Invalidations collected from a run of events and applied together, so a bulk write touching
+     * thousands of one user's expenses bumps that user's version once.
+     */
+    private static final class Batch {
+        final Set<String> users = new HashSet<>();
+        final Set<String> categoryUsers = new HashSet<>();
+        final Set<String> deletedExpenseIds = new HashSet<>();
+        boolean unknownOwner;
+        boolean unknownCategoryOwner;
+        BsonDocument resumeToken;
+        int events;
+    }
+
+    /**
+     * Checkpoints are keyed by consumer id, so instances sharing a fallback id would resume from each
+     * other's positions and skip events.
+     */
+    @PostConstruct
+    public void checkConsumerId() {
+        if (enabled && (consumerId == null || consumerId.isBlank())) {
+            throw new IllegalStateException(
+                    "app.change-stream.consumer-id (CHANGE_STREAM_CONSUMER_ID) must be set when HOSTNAME is not");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::consume, "change-stream");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Change stream consumer {} started", consumerId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void consume() {
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open()) {
+                poll(cursor);
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    // The oplog no longer reaches back to the checkpoint; what was missed is unknown
+                    log.warn("Change stream history lost for consumer {}, invalidating all local state", consumerId);
+                    removeCheckpoint();
+                    invalidateEverything();
+                    continue;
+                }
+                backOff(e);
+            } catch (RuntimeException e) {
+                backOff(e);
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open() {
+        List<String> collections = List.of(
+                mongoTemplate.getCollectionName(Expense.class),
+                mongoTemplate.getCollectionName(Category.class),
+                mongoTemplate.getCollectionName(Budget.class),
+                mongoTemplate.getCollectionName(User.class));
+
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", collections))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                .maxAwaitTime(maxAwaitMillis, TimeUnit.MILLISECONDS)
+                .batchSize(batchSize);
+
+        ChangeStreamCheckpoint checkpoint = mongoTemplate.findById(consumerId, ChangeStreamCheckpoint.class);
+        if (checkpoint != null) {
+            stream = stream.resumeAfter(BsonDocument.parse(checkpoint.getResumeToken()));
+        }
+        return stream.cursor();
+    }
+
+    private void poll(MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+        Batch batch = new Batch();
+        while (running) {
+            ChangeStreamDocument<Document> event = cursor.tryNext();
+            if (event != null) {
+                if (event.getOperationType() == OperationType.INVALIDATE) {
+                    invalidateEverything();
+                    removeCheckpoint();
+                    return;
+                }
+                apply(event, batch);
+                batch.resumeToken = event.getResumeToken();
+                batch.events++;
+            }
+            if (batch.events > 0 && (event == null || batch.events >= batchSize)) {
+                flush(batch);
+                batch = new Batch();
+            }
+        }
+    }
+
+    private void apply(ChangeStreamDocument<Document> event, Batch batch) {
+        String collection = event.getNamespace() != null ? event.getNamespace().getCollectionName() : null;
+        Document document = event.getFullDocument() != null ? event.getFullDocument() : event.getFullDocumentBeforeChange();
+        boolean expenses = mongoTemplate.getCollectionName(Expense.class).equals(collection);
+        boolean categories = mongoTemplate.getCollectionName(Category.class).equals(collection);
+
+        String userId;
+        if (mongoTemplate.getCollectionName(User.class).equals(collection)) {
+            userId = idOf(event.getDocumentKey());
+        } else {
+            userId = document != null ? document.getString("userId") : null;
+        }
+
+        if (userId == null) {
+            // A delete without a pre-image: only the document id is known
+            batch.unknownOwner = true;
+            batch.unknownCategoryOwner |= categories;
+            if (expenses) {
+                String expenseId = idOf(event.getDocumentKey());
+                if (expenseId != null) {
+                    batch.deletedExpenseIds.add(expenseId);
+                }
+            }
+            return;
+        }
+
+        batch.users.add(userId);
+        if (categories) {
+            batch.categoryUsers.add(userId);
+        }
+        if (expenses) {
+            if (event.getOperationType() == OperationType.DELETE) {
+                hotSetCache.onDeleted(mongoTemplate.getConverter().read(Expense.class, document));
+            } else if (event.getFullDocument() != null) {
+                hotSetCache.onSaved(mongoTemplate.getConverter().read(Expense.class, event.getFullDocument()));
+            } else {
+                hotSetCache.invalidate(userId);
+            }
+        }
+    }
+
+    private void flush(Batch batch) {
+        Cache categoriesCache = cacheManager.getCache("categories");
+        if (categoriesCache != null) {
+            if (batch.unknownCategoryOwner) {
+                categoriesCache.clear();
+            } else {
+                batch.categoryUsers.forEach(categoriesCache::evict);
+            }
+        }
+
+        if (!batch.deletedExpenseIds.isEmpty()) {
+            hotSetCache.onDeletedIds(batch.deletedExpenseIds);
+        }
+        if (batch.unknownOwner) {
+            dataVersionService.bumpAll();
+        }
+        batch.users.forEach(dataVersionService::bump);
+
+        mongoTemplate.save(ChangeStreamCheckpoint.builder()
+                .consumerId(consumerId)
+                .resumeToken(batch.resumeToken.toJson())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        log.debug("Applied {} change events for {} users", batch.events, batch.users.size());
+    }
+
+    private void removeCheckpoint() {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(consumerId)), ChangeStreamCheckpoint.class);
+    }
+
+    private void invalidateEverything() {
+        Cache categoriesCache = cacheManager.getCache("categories");
+        if (categoriesCache != null) {
+            categoriesCache.clear();
+        }
+        hotSetCache.invalidateAll();
+        dataVersionService.bumpAll();
+    }
+
+    private void backOff(RuntimeException e) {
+        if (!running) {
+            return;
+        }
+        log.warn("Change stream consumer {} failed, reopening in {} ms: {}", consumerId, retryDelayMillis, e.getMessage());
+        try {
+            Thread.sleep(retryDelayMillis);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static String idOf(BsonDocument documentKey) {
+        if (documentKey == null) {
+            return null;
+        }
+        BsonValue id = documentKey.get("_id");
+        if (id == null) {
+            return null;
+        }
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.isString() ? id.asString().getValue() : null;
+    }
+}
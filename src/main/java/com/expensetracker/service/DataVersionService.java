@@ -0,0 +1,101 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.DataVersion;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user counter that changes whenever any of the user's expenses, budgets or categories change.
+ * It backs response ETags and cache keys. The mongo store (the default) shares versions between
+ * instances at the cost of one primary-key read per conditional request; the memory store is only
+ * correct on a single instance, or with the change stream bumping versions for other nodes' writes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataVersionService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Published after every {@link #bump}, for listeners that push changes to connected clients.
+     */
+    public record Changed(String userId) {
+    }
+
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    // Users never bumped since startup share this version, so a restart invalidates every ETag issued before it
+    private final AtomicLong baseline = new AtomicLong(System.currentTimeMillis());
+
+    @Value("${app.data-version.store:mongo}")
+    private String store;
+
+    @Value("${app.change-stream.enabled:false}")
+    private boolean changeStreamEnabled;
+
+    @PostConstruct
+    void checkStore() {
+        if (!isMongoStore() && !changeStreamEnabled) {
+            log.warn("Data versions are kept in memory without a change stream; with more than one instance, "
+                    + "ETags and cached responses will miss writes made on other instances");
+        }
+    }
+
+    public long current(String userId) {
+        if (isMongoStore()) {
+            DataVersion version = mongoTemplate.findById(userId, DataVersion.class);
+            return version != null ? version.getVersion() : 0L;
+        }
+        return versions.getOrDefault(userId, baseline.get());
+    }
+
+    public long bump(String userId) {
+        long version = increment(userId);
+        eventPublisher.publishEvent(new Changed(userId));
+        return version;
+    }
+
+    /**
+     * Changes every user's version, for changes whose owner is unknown. Only the memory store can do
+     * this cheaply; mongo-store versions are left to the writers' own bumps.
+     */
+    public void bumpAll() {
+        if (isMongoStore()) {
+            log.debug("Skipping bumpAll for the mongo data-version store");
+            return;
+        }
+        long next = baseline.incrementAndGet() + 1;
+        versions.replaceAll((userId, version) -> Math.max(version + 1, next));
+    }
+
+    private long increment(String userId) {
+        if (isMongoStore()) {
+            DataVersion version = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(userId)),
+                    new Update().inc("version", 1),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    DataVersion.class);
+            return version.getVersion();
+        }
+        return versions.merge(userId, baseline.get() + 1, (previous, ignored) -> previous + 1);
+    }
+
+    private boolean isMongoStore() {
+        return "mongo".equalsIgnoreCase(store);
+    }
+}
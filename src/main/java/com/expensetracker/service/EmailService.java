@@ -1,5 +1,6 @@
 package com.expensetracker.service;
 
+import com.expensetracker.config.AsyncConfig;
 import com.expensetracker.model.User;
 import com.expensetracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -29,7 +30,7 @@ public class EmailService {
     @Value("${app.mail.from-name}")
     private String fromName;
 
-    @Async
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     public void sendWelcomeEmail(String toEmail, String firstName) {
         String subject = "Welcome to Expense Tracker!";
         String body = String.format("""
@@ -52,7 +53,7 @@ public class EmailService {
         sendEmail(toEmail, subject, body);
     }
 
-    @Async
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     public void sendBudgetAlert(String userId, String budgetName, String message) {
         User user = userRepository.findById(userId).orElse(null);
         if (user == null) {
@@ -77,7 +78,7 @@ public class EmailService {
         sendEmail(user.getEmail(), subject, body);
     }
 
-    @Async
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     public void sendWeeklySummary(String userId, BigDecimal totalSpent, int transactionCount) {
         User user = userRepository.findById(userId).orElse(null);
         if (user == null) {
@@ -103,7 +104,7 @@ public class EmailService {
         sendEmail(user.getEmail(), subject, body);
     }
 
-    @Async
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     public void sendPasswordResetEmail(String toEmail, String resetToken) {
         String subject = "Password Reset Request";
         String body = String.format("""
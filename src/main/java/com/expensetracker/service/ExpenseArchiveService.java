@@ -0,0 +1,235 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.ExpenseMonthlySummary;
+import com.expensetracker.repository.ExpenseMonthlySummaryRepository;
+import com.expensetracker.repository.ExpenseRepositoryCustom;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves expenses older than the archive horizon out of the hot {@code expenses} collection, one user
+ * month at a time: the documents are copied to the archive collection, an immutable monthly summary
+ * is written, and only then are the hot copies deleted. Every step is idempotent, so a run that dies
+ * part-way is finished by the next one. Disabled unless app.archive.enabled is set.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseArchiveService {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ExpenseMonthlySummaryRepository monthlySummaryRepository;
+    private final ExpenseHotSetCache hotSetCache;
+    private final DataVersionService dataVersionService;
+    private final JobCoordinator jobCoordinator;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.horizon-months:13}")
+    private int horizonMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureArchiveIndexes() {
+        var indexes = mongoTemplate.indexOps(ExpenseRepositoryCustom.ARCHIVE_COLLECTION);
+        indexes.ensureIndex(new Index().on("userId", Sort.Direction.ASC).on("expenseDate", Sort.Direction.DESC)
+                .named("user_date_idx"));
+        indexes.ensureIndex(new Index().on("userId", Sort.Direction.ASC).on("categoryId", Sort.Direction.ASC)
+                .named("user_category_idx"));
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        if (enabled) {
+            jobCoordinator.runOnce("expense-archive", LocalDate.now().toString(), this::archive);
+        }
+    }
+
+    public void archive() {
+        LocalDate horizon = ExpenseRepositoryCustom.archiveHorizon(LocalDate.now(), horizonMonths);
+        Map<String, List<YearMonth>> pending = pendingMonths(horizon);
+        log.info("Archiving expenses before {} for {} users", horizon, pending.size());
+
+        int archived = 0;
+        for (Map.Entry<String, List<YearMonth>> entry : pending.entrySet()) {
+            String userId = entry.getKey();
+            try {
+                for (YearMonth month : entry.getValue()) {
+                    archived += archiveMonth(userId, month);
+                }
+            } catch (Exception e) {
+                log.error("Failed to archive expenses for user {}: {}", userId, e.getMessage());
+            } finally {
+                hotSetCache.invalidate(userId);
+                dataVersionService.bump(userId);
+            }
+        }
+        log.info("Expense archive run completed, {} expenses moved", archived);
+    }
+
+    /**
+     * Distinct (user, month) pairs that still have hot expenses before the horizon.
+     */
+    private Map<String, List<YearMonth>> pendingMonths(LocalDate horizon) {
+        // LocalDate is stored as midnight in the server's zone, so months are cut in that zone too
+        AggregationExpression month = DateOperators.dateOf("expenseDate")
+                .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()))
+                .toString("%Y-%m");
+
+        List<Document> groups = mongoTemplate.aggregate(Aggregation.newAggregation(Expense.class,
+                        Aggregation.match(new Criteria().andOperator(
+                                Criteria.where("expenseDate").lt(horizon), notRecurringTemplate())),
+                        Aggregation.project("userId").and(month).as("month"),
+                        Aggregation.group("userId", "month"),
+                        Aggregation.sort(Sort.Direction.ASC, "_id.userId", "_id.month")),
+                Document.class).getMappedResults();
+
+        Map<String, List<YearMonth>> pending = new LinkedHashMap<>();
+        for (Document group : groups) {
+            Document id = group.get("_id", Document.class);
+            pending.computeIfAbsent(id.getString("userId"), key -> new ArrayList<>())
+                    .add(YearMonth.parse(id.getString("month")));
+        }
+        return pending;
+    }
+
+    private int archiveMonth(String userId, YearMonth month) {
+        String hotCollection = mongoTemplate.getCollectionName(Expense.class);
+        Criteria inMonth = new Criteria().andOperator(
+                Criteria.where("userId").is(userId).and("expenseDate").gte(month.atDay(1)).lte(month.atEndOfMonth()),
+                notRecurringTemplate());
+
+        if (monthlySummaryRepository.existsById(ExpenseMonthlySummary.idOf(userId, month))) {
+            // A previous run wrote the summary but died before deleting; expenses added since stay hot
+            Query archivedIds = new Query(inMonth);
+            archivedIds.fields().include("_id");
+            List<Object> ids = mongoTemplate.find(archivedIds, Document.class, ExpenseRepositoryCustom.ARCHIVE_COLLECTION)
+                    .stream()
+                    .map(document -> document.get("_id"))
+                    .toList();
+            return ids.isEmpty()
+                    ? 0
+                    : (int) mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), hotCollection).getDeletedCount();
+        }
+
+        List<Document> documents = mongoTemplate.find(new Query(inMonth), Document.class, hotCollection);
+        if (documents.isEmpty()) {
+            return 0;
+        }
+        List<Object> ids = documents.stream().map(document -> document.get("_id")).toList();
+
+        // Copies left behind by an earlier attempt for expenses deleted since must not be resurrected
+        mongoTemplate.remove(new Query(new Criteria().andOperator(inMonth, Criteria.where("_id").nin(ids))),
+                ExpenseRepositoryCustom.ARCHIVE_COLLECTION);
+        copyToArchive(documents);
+
+        try {
+            monthlySummaryRepository.insert(summarize(userId, month, documents));
+        } catch (DuplicateKeyException e) {
+            log.debug("Summary for user {} month {} already written", userId, month);
+        }
+
+        long deleted = mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), hotCollection).getDeletedCount();
+        log.debug("Archived {} expenses for user {} month {}", deleted, userId, month);
+        return (int) deleted;
+    }
+
+    /**
+     * Templates keep their original expenseDate but still drive materialization through nextOccurrence,
+     * so they stay hot however old they are.
+     */
+    private static Criteria notRecurringTemplate() {
+        return new Criteria().orOperator(
+                Criteria.where("isRecurring").ne(true),
+                Criteria.where("nextOccurrence").is(null));
+    }
+
+    private void copyToArchive(List<Document> documents) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ExpenseRepositoryCustom.ARCHIVE_COLLECTION)
+                    .insert(documents)
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private ExpenseMonthlySummary summarize(String userId, YearMonth month, List<Document> documents) {
+        Map<String, ExpenseMonthlySummary.Cell> cells = new LinkedHashMap<>();
+        Set<Object> seen = new HashSet<>();
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal highest = null;
+        BigDecimal lowest = null;
+
+        for (Document document : documents) {
+            if (!seen.add(document.get("_id"))) {
+                continue;
+            }
+            Expense expense = mongoTemplate.getConverter().read(Expense.class, document);
+            BigDecimal amount = expense.getAmount() != null ? expense.getAmount() : BigDecimal.ZERO;
+
+            ExpenseMonthlySummary.Cell cell = cells.computeIfAbsent(
+                    expense.getCategoryId() + "|" + expense.getPaymentMethod(),
+                    key -> ExpenseMonthlySummary.Cell.builder()
+                            .categoryId(expense.getCategoryId())
+                            .paymentMethod(expense.getPaymentMethod())
+                            .amount(BigDecimal.ZERO)
+                            .build());
+            cell.setAmount(cell.getAmount().add(amount));
+            cell.setCount(cell.getCount() + 1);
+
+            total = total.add(amount);
+            highest = highest == null || amount.compareTo(highest) > 0 ? amount : highest;
+            lowest = lowest == null || amount.compareTo(lowest) < 0 ? amount : lowest;
+        }
+
+        return ExpenseMonthlySummary.builder()
+                .id(ExpenseMonthlySummary.idOf(userId, month))
+                .userId(userId)
+                .monthStart(month.atDay(1))
+                .totalAmount(total)
+                .expenseCount(seen.size())
+                .highestAmount(highest)
+                .lowestAmount(lowest)
+                .cells(new ArrayList<>(cells.values()))
+                .archivedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,219 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.util.ExpenseColumns;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory columnar copy of recent expenses for users who keep opening analytics. Snapshots are
+ * loaded on first use, patched by expense mutations, and evicted least-recently-used once the
+ * configured memory budget is exceeded. Writes made on other nodes only reach a snapshot through
+ * the change stream, so snapshots are also reloaded once they are older than max-age-seconds.
+ * Disabled unless app.analytics.hot-set.enabled is set.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseHotSetCache {
+
+    private static final int STRIPES = 64;
+
+    private final ExpenseRepository expenseRepository;
+
+    // Access-ordered, so iteration starts at the least recently used user; guarded by this
+    private final Map<String, Snapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    // Bumped on every mutation, so a load that raced with a write is not installed
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    @Value("${app.analytics.hot-set.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.analytics.hot-set.window-days:400}")
+    private int windowDays;
+
+    @Value("${app.analytics.hot-set.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${app.analytics.hot-set.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    /**
+     * Returns the user's snapshot when it can answer a range starting at {@code startDate}, loading
+     * it on first use. Empty when the cache is disabled or the range reaches past the window.
+     */
+    public Optional<ExpenseColumns> get(String userId, LocalDate startDate) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        synchronized (this) {
+            Snapshot snapshot = snapshots.get(userId);
+            if (snapshot != null && !snapshot.expired(System.currentTimeMillis() - maxAgeSeconds * 1000)) {
+                return snapshot.columns().covers(startDate) ? Optional.of(snapshot.columns()) : Optional.empty();
+            }
+        }
+
+        LocalDate coverageStart = LocalDate.now().minusDays(windowDays);
+        if (startDate.isBefore(coverageStart)) {
+            return Optional.empty();
+        }
+
+        long generation = generations.get(stripe(userId));
+        long loadedAt = System.currentTimeMillis();
+        ExpenseColumns columns = ExpenseColumns.of(
+                expenseRepository.findByUserIdAndExpenseDateGreaterThanEqual(userId, coverageStart), coverageStart);
+
+        synchronized (this) {
+            Snapshot current = snapshots.get(userId);
+            if (generations.get(stripe(userId)) == generation && (current == null || current.loadedAt() < loadedAt)) {
+                put(userId, new Snapshot(columns, loadedAt));
+                log.debug("Loaded hot set for user {}: {} expenses", userId, columns.size());
+            }
+        }
+        return Optional.of(columns);
+    }
+
+    public void onSaved(Expense expense) {
+        if (!enabled) {
+            return;
+        }
+        generations.incrementAndGet(stripe(expense.getUserId()));
+        synchronized (this) {
+            Snapshot snapshot = snapshots.get(expense.getUserId());
+            if (snapshot != null) {
+                put(expense.getUserId(), snapshot.with(snapshot.columns().withExpense(expense)));
+            }
+        }
+    }
+
+    public void onDeleted(Expense expense) {
+        if (!enabled) {
+            return;
+        }
+        generations.incrementAndGet(stripe(expense.getUserId()));
+        synchronized (this) {
+            Snapshot snapshot = snapshots.get(expense.getUserId());
+            if (snapshot != null) {
+                put(expense.getUserId(), snapshot.with(snapshot.columns().withoutExpense(expense.getId())));
+            }
+        }
+    }
+
+    /**
+     * Drops the user's snapshot after writes that bypass {@link ExpenseService}, such as bulk inserts.
+     */
+    public void invalidate(String userId) {
+        if (!enabled) {
+            return;
+        }
+        generations.incrementAndGet(stripe(userId));
+        synchronized (this) {
+            Snapshot removed = snapshots.remove(userId);
+            if (removed != null) {
+                totalBytes -= removed.columns().estimatedBytes();
+            }
+        }
+    }
+
+    /**
+     * Removes expenses whose owner is unknown, such as ones deleted outside the application when
+     * change-stream pre-images are not enabled. Ids created before the window are skipped without a
+     * scan: such an expense can only be in a snapshot if it was future-dated, and max-age bounds that.
+     */
+    public void onDeletedIds(Collection<String> expenseIds) {
+        if (!enabled) {
+            return;
+        }
+        Date createdSince = Date.from(Instant.now().minus(windowDays + 1L, ChronoUnit.DAYS));
+        Set<String> recent = new HashSet<>();
+        for (String expenseId : expenseIds) {
+            if (ObjectId.isValid(expenseId) && !new ObjectId(expenseId).getDate().before(createdSince)) {
+                recent.add(expenseId);
+            }
+        }
+        if (recent.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            for (Map.Entry<String, Snapshot> entry : snapshots.entrySet()) {
+                ExpenseColumns columns = entry.getValue().columns();
+                ExpenseColumns updated = columns.withoutExpenses(recent);
+                if (updated != columns) {
+                    generations.incrementAndGet(stripe(entry.getKey()));
+                    totalBytes += updated.estimatedBytes() - columns.estimatedBytes();
+                    entry.setValue(entry.getValue().with(updated));
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops every snapshot, for when changes may have been missed and their owners are unknown.
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        synchronized (this) {
+            snapshots.clear();
+            totalBytes = 0;
+        }
+    }
+
+    private void put(String userId, Snapshot snapshot) {
+        Snapshot previous = snapshots.put(userId, snapshot);
+        totalBytes += snapshot.columns().estimatedBytes() - (previous != null ? previous.columns().estimatedBytes() : 0);
+
+        Iterator<Map.Entry<String, Snapshot>> eldest = snapshots.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Snapshot> entry = eldest.next();
+            if (entry.getKey().equals(userId)) {
+                continue;
+            }
+            totalBytes -= entry.getValue().columns().estimatedBytes();
+            eldest.remove();
+        }
+    }
+
+    private static int stripe(String userId) {
+        return Math.floorMod(userId.hashCode(), STRIPES);
+    }
+
+    /**
+     * Patches keep the original load time, so age measures time since the last full read.
+     */
+    private record Snapshot(ExpenseColumns columns, long loadedAt) {
+
+        Snapshot with(ExpenseColumns updated) {
+            return new Snapshot(updated, loadedAt);
+        }
+
+        boolean expired(long loadedBefore) {
+            return loadedAt < loadedBefore;
+        }
+    }
+}
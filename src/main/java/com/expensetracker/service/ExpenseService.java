@@ -1,23 +1,39 @@
 package com.expensetracker.service;
 
+import com.expensetracker.dto.request.BulkExpenseRequest;
 import com.expensetracker.dto.request.ExpenseRequest;
+import com.expensetracker.dto.response.BulkOperationResponse;
+import com.expensetracker.dto.response.CategoryResponse;
 import com.expensetracker.dto.response.ExpenseResponse;
 import com.expensetracker.dto.response.PageResponse;
+import com.expensetracker.exception.BadRequestException;
 import com.expensetracker.exception.ResourceNotFoundException;
 import com.expensetracker.model.Expense;
+import com.expensetracker.model.Tombstone;
 import com.expensetracker.repository.ExpenseRepository;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,9 +41,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ExpenseService {
 
+    private static final int MAX_BULK_SELECTION = 5000;
+
     private final ExpenseRepository expenseRepository;
     private final CategoryService categoryService;
     private final BudgetService budgetService;
+    private final ExpenseHotSetCache hotSetCache;
+    private final DataVersionService dataVersionService;
+    private final MongoTemplate mongoTemplate;
+    private final SyncService syncService;
 
     public PageResponse<ExpenseResponse> getAllExpenses(String userId, int page, int size,
             String sortBy, String sortDir, String categoryId, LocalDate startDate,
@@ -49,9 +71,13 @@ public class ExpenseService {
             expensePage = expenseRepository.findByUserId(userId, pageable);
         }
 
+        // One cached category list for the page instead of a lookup per expense
+        Map<String, String> categoryNames = categoryService.getAllCategories(userId).stream()
+                .collect(Collectors.toMap(CategoryResponse::getId, CategoryResponse::getName, (a, b) -> a));
         List<ExpenseResponse> expenseResponses = expensePage.getContent().stream()
                 .map(expense -> {
-                    String categoryName = categoryService.getCategoryName(expense.getCategoryId(), userId);
+                    String categoryName = expense.getCategoryId() == null ? "Uncategorized"
+                            : categoryNames.getOrDefault(expense.getCategoryId(), "Unknown");
                     return ExpenseResponse.fromExpense(expense, categoryName);
                 })
                 .collect(Collectors.toList());
@@ -61,6 +87,7 @@ public class ExpenseService {
 
     public ExpenseResponse getExpenseById(String expenseId, String userId) {
         Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
+                .or(() -> expenseRepository.findArchivedByIdAndUserId(expenseId, userId))
                 .orElseThrow(() -> new ResourceNotFoundException("Expense", "id", expenseId));
         String categoryName = categoryService.getCategoryName(expense.getCategoryId(), userId);
         return ExpenseResponse.fromExpense(expense, categoryName);
@@ -80,8 +107,11 @@ public class ExpenseService {
                 .isRecurring(request.getIsRecurring() != null ? request.getIsRecurring() : false)
                 .recurrencePattern(request.getRecurrencePattern())
                 .build();
+        expense.setNextOccurrence(firstOccurrence(expense));
 
         expense = expenseRepository.save(expense);
+        hotSetCache.onSaved(expense);
+        dataVersionService.bump(userId);
         log.info("Expense created: {} for user: {}", expense.getId(), userId);
 
         // Check budget after creating expense
@@ -95,8 +125,7 @@ public class ExpenseService {
 
     @Transactional
     public ExpenseResponse updateExpense(String expenseId, String userId, ExpenseRequest request) {
-        Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Expense", "id", expenseId));
+        Expense expense = findMutable(expenseId, userId);
 
         if (request.getAmount() != null) {
             expense.setAmount(request.getAmount());
@@ -125,8 +154,14 @@ public class ExpenseService {
         if (request.getRecurrencePattern() != null) {
             expense.setRecurrencePattern(request.getRecurrencePattern());
         }
+        if (request.getIsRecurring() != null || request.getRecurrencePattern() != null
+                || request.getExpenseDate() != null) {
+            expense.setNextOccurrence(firstOccurrence(expense));
+        }
 
         expense = expenseRepository.save(expense);
+        hotSetCache.onSaved(expense);
+        dataVersionService.bump(userId);
         log.info("Expense updated: {}", expense.getId());
 
         String categoryName = categoryService.getCategoryName(expense.getCategoryId(), userId);
@@ -135,20 +170,22 @@ public class ExpenseService {
 
     @Transactional
     public void deleteExpense(String expenseId, String userId) {
-        Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Expense", "id", expenseId));
+        Expense expense = findMutable(expenseId, userId);
 
         expenseRepository.delete(expense);
+        syncService.recordDeletion(userId, Tombstone.EntityType.EXPENSE, List.of(expenseId));
+        hotSetCache.onDeleted(expense);
+        dataVersionService.bump(userId);
         log.info("Expense deleted: {}", expenseId);
     }
 
     @Transactional
     public ExpenseResponse updateReceiptUrl(String expenseId, String userId, String receiptUrl) {
-        Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Expense", "id", expenseId));
+        Expense expense = findMutable(expenseId, userId);
 
         expense.setReceiptUrl(receiptUrl);
         expense = expenseRepository.save(expense);
+        dataVersionService.bump(userId);
 
         String categoryName = categoryService.getCategoryName(expense.getCategoryId(), userId);
         return ExpenseResponse.fromExpense(expense, categoryName);
@@ -156,23 +193,170 @@ public class ExpenseService {
 
     @Transactional
     public void deleteReceipt(String expenseId, String userId) {
-        Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Expense", "id", expenseId));
+        Expense expense = findMutable(expenseId, userId);
 
         expense.setReceiptUrl(null);
         expenseRepository.save(expense);
+        dataVersionService.bump(userId);
         log.info("Receipt deleted for expense: {}", expenseId);
     }
 
+    /**
+     * Applies the request's changes to every selected expense in a single updateMany. Budgets are
+     * re-checked once per affected category rather than once per expense.
+     */
+    public BulkOperationResponse bulkUpdate(String userId, BulkExpenseRequest request) {
+        Query query = bulkSelection(userId, request);
+
+        if (request.getCategoryId() == null && request.getPaymentMethod() == null
+                && request.getCurrency() == null && request.getTags() == null) {
+            throw new BadRequestException("No changes specified");
+        }
+
+        // Bulk writes bypass auditing, so updatedAt is set explicitly
+        Update update = new Update().set("updatedAt", LocalDateTime.now());
+        if (request.getCategoryId() != null) {
+            categoryService.getCategoryEntity(request.getCategoryId(), userId);
+            update.set("categoryId", request.getCategoryId());
+        }
+        if (request.getPaymentMethod() != null) {
+            update.set("paymentMethod", request.getPaymentMethod());
+        }
+        if (request.getCurrency() != null) {
+            update.set("currency", request.getCurrency());
+        }
+        if (request.getTags() != null) {
+            update.set("tags", request.getTags());
+        }
+
+        Set<String> affectedCategories = affectedCategories(query);
+        if (request.getCategoryId() != null) {
+            affectedCategories.add(request.getCategoryId());
+        }
+
+        UpdateResult result = mongoTemplate.updateMulti(query, update, Expense.class);
+        log.info("Bulk updated {} of {} expenses for user: {}", result.getModifiedCount(), result.getMatchedCount(), userId);
+
+        afterBulkChange(userId, affectedCategories);
+        return BulkOperationResponse.builder()
+                .matchedCount(result.getMatchedCount())
+                .modifiedCount(result.getModifiedCount())
+                .build();
+    }
+
+    public BulkOperationResponse bulkDelete(String userId, BulkExpenseRequest request) {
+        Query query = bulkSelection(userId, request);
+        Set<String> affectedCategories = affectedCategories(query);
+
+        // Ids are resolved first so that exactly the removed expenses get tombstones
+        query.fields().include("_id");
+        List<String> ids = mongoTemplate.find(query, Expense.class).stream().map(Expense::getId).toList();
+        DeleteResult result = mongoTemplate.remove(
+                Query.query(Criteria.where("userId").is(userId).and("_id").in(ids)), Expense.class);
+        syncService.recordDeletion(userId, Tombstone.EntityType.EXPENSE, ids);
+        log.info("Bulk deleted {} expenses for user: {}", result.getDeletedCount(), userId);
+
+        afterBulkChange(userId, affectedCategories);
+        return BulkOperationResponse.builder()
+                .matchedCount(result.getDeletedCount())
+                .modifiedCount(result.getDeletedCount())
+                .build();
+    }
+
+    private Query bulkSelection(String userId, BulkExpenseRequest request) {
+        BulkExpenseRequest.Filter filter = request.getFilter();
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (!hasIds && filter == null) {
+            throw new BadRequestException("Either expense ids or a filter is required");
+        }
+
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (hasIds) {
+            criteria.and("_id").in(request.getIds());
+        }
+        if (filter != null) {
+            if (filter.getCategoryId() == null && filter.getStartDate() == null && filter.getEndDate() == null
+                    && filter.getMinAmount() == null && filter.getMaxAmount() == null) {
+                throw new BadRequestException("Filter must set at least one criterion");
+            }
+            if (filter.getCategoryId() != null) {
+                criteria.and("categoryId").is(filter.getCategoryId());
+            }
+            if (filter.getStartDate() != null || filter.getEndDate() != null) {
+                Criteria date = criteria.and("expenseDate");
+                if (filter.getStartDate() != null) {
+                    date.gte(filter.getStartDate());
+                }
+                if (filter.getEndDate() != null) {
+                    date.lte(filter.getEndDate());
+                }
+            }
+            if (filter.getMinAmount() != null || filter.getMaxAmount() != null) {
+                Criteria amount = criteria.and("amount");
+                if (filter.getMinAmount() != null) {
+                    amount.gte(filter.getMinAmount());
+                }
+                if (filter.getMaxAmount() != null) {
+                    amount.lte(filter.getMaxAmount());
+                }
+            }
+        }
+        if (hasIds) {
+            return Query.query(criteria);
+        }
+
+        // Filter selections are resolved to ids up front, so the cap also holds against concurrent inserts
+        Query matching = Query.query(criteria).limit(MAX_BULK_SELECTION + 1);
+        matching.fields().include("_id");
+        List<String> ids = mongoTemplate.find(matching, Expense.class).stream().map(Expense::getId).toList();
+        if (ids.size() > MAX_BULK_SELECTION) {
+            throw new BadRequestException("Filter matches more than " + MAX_BULK_SELECTION
+                    + " expenses; narrow it or split the request");
+        }
+        return Query.query(Criteria.where("userId").is(userId).and("_id").in(ids));
+    }
+
+    private Set<String> affectedCategories(Query query) {
+        Set<String> categories = new HashSet<>();
+        mongoTemplate.findDistinct(query, "categoryId", Expense.class, String.class).stream()
+                .filter(Objects::nonNull)
+                .forEach(categories::add);
+        return categories;
+    }
+
+    private void afterBulkChange(String userId, Set<String> affectedCategories) {
+        hotSetCache.invalidate(userId);
+        dataVersionService.bump(userId);
+        for (String categoryId : affectedCategories) {
+            budgetService.checkBudgetAndAlert(userId, categoryId);
+        }
+    }
+
+    private LocalDate firstOccurrence(Expense expense) {
+        if (!Boolean.TRUE.equals(expense.getIsRecurring()) || expense.getRecurrencePattern() == null) {
+            return null;
+        }
+        // Occurrences before today are assumed to have been entered by hand already
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate after = expense.getExpenseDate().isBefore(yesterday) ? yesterday : expense.getExpenseDate();
+        return expense.getRecurrencePattern().nextAfter(expense.getExpenseDate(), after);
+    }
+
     public List<Expense> getExpensesByDateRange(String userId, LocalDate startDate, LocalDate endDate) {
         return expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate);
     }
 
     public BigDecimal getTotalExpensesByDateRange(String userId, LocalDate startDate, LocalDate endDate) {
-        // Calculate sum using stream instead of aggregation query
-        return expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate)
-                .stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return expenseRepository.sumAmount(userId, null, startDate, endDate);
+    }
+
+    /**
+     * Expenses moved to the archive tier are read-only; only hot expenses can be changed.
+     */
+    private Expense findMutable(String expenseId, String userId) {
+        return expenseRepository.findByIdAndUserId(expenseId, userId)
+                .orElseThrow(() -> expenseRepository.findArchivedByIdAndUserId(expenseId, userId).isPresent()
+                        ? new BadRequestException("Archived expenses cannot be modified")
+                        : new ResourceNotFoundException("Expense", "id", expenseId));
     }
 }
@@ -0,0 +1,240 @@
+package com.expensetracker.service;
+
+import com.expensetracker.exception.BadRequestException;
+import com.expensetracker.exception.ConflictException;
+import com.expensetracker.model.IdempotencyRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Makes create endpoints safe to retry. The first request with a given key runs and its response is
+ * stored; retries with the same key and body get the stored response without running again. Recent
+ * completions are also held in memory so retry storms against one node never reach MongoDB. While a
+ * request runs its record is kept alive by a heartbeat, so a retry only takes over from a node that
+ * stopped, never from one that is merely slow.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Completed records by id, least recently used first; guarded by itself
+    private final Map<String, IdempotencyRecord> recent = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Record id to owner token for requests this node is running
+    private final Map<String, String> running = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.memory-entries:10000}")
+    private int memoryEntries;
+
+    @Value("${app.idempotency.in-progress-timeout-seconds:60}")
+    private long inProgressTimeoutSeconds;
+
+    /**
+     * Outcome of {@link #execute}: the response, and whether it was replayed from an earlier request.
+     */
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    @PostConstruct
+    public void init() {
+        long intervalSeconds = Math.max(inProgressTimeoutSeconds / 3, 1);
+        heartbeat.scheduleWithFixedDelay(this::refreshRunning, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+    public <T> Result<T> execute(String userId, String key, String scope, Object request, Class<T> type, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return new Result<>(action.get(), false);
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String id = userId + ":" + scope + ":" + key;
+        String requestHash = hash(request);
+
+        IdempotencyRecord completed;
+        synchronized (recent) {
+            completed = recent.get(id);
+            if (completed != null && completed.getExpiresAt().isBefore(LocalDateTime.now())) {
+                recent.remove(id);
+                completed = null;
+            }
+        }
+        String owner = UUID.randomUUID().toString();
+        if (completed == null) {
+            completed = claimOrFind(id, requestHash, owner);
+        }
+        if (completed != null) {
+            checkSameRequest(completed, requestHash);
+            remember(completed);
+            return new Result<>(read(completed.getResponse(), type), true);
+        }
+
+        T value;
+        running.put(id, owner);
+        try {
+            value = action.get();
+        } catch (RuntimeException e) {
+            // Failed requests leave nothing behind, so the client can retry with the same key
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(id).and("owner").is(owner)), IdempotencyRecord.class);
+            throw e;
+        } finally {
+            running.remove(id);
+        }
+
+        IdempotencyRecord record = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id).and("owner").is(owner)),
+                new Update().set("status", IdempotencyRecord.Status.COMPLETED).set("response", write(value)),
+                FindAndModifyOptions.options().returnNew(true),
+                IdempotencyRecord.class);
+        if (record != null) {
+            remember(record);
+        }
+        return new Result<>(value, false);
+    }
+
+    /**
+     * Inserts an in-progress record for a first request and returns {@code null}, or returns the
+     * completed record of an earlier one.
+     */
+    private IdempotencyRecord claimOrFind(String id, String requestHash, String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            mongoTemplate.insert(IdempotencyRecord.builder()
+                    .id(id)
+                    .requestHash(requestHash)
+                    .status(IdempotencyRecord.Status.IN_PROGRESS)
+                    .createdAt(now)
+                    .heartbeatAt(now)
+                    .owner(owner)
+                    .expiresAt(now.plusHours(ttlHours))
+                    .build());
+            return null;
+        } catch (DuplicateKeyException e) {
+            IdempotencyRecord existing = mongoTemplate.findById(id, IdempotencyRecord.class);
+            if (existing == null) {
+                // The first attempt failed and cleaned up between our insert and read
+                return claimOrFind(id, requestHash, owner);
+            }
+            // A different body never runs under the key, whatever state the first attempt is in
+            checkSameRequest(existing, requestHash);
+            if (existing.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                return existing;
+            }
+            // An attempt whose heartbeat stopped died with its node; take it over
+            LocalDateTime stale = now.minusSeconds(inProgressTimeoutSeconds);
+            IdempotencyRecord abandoned = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(id)
+                            .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)
+                            .and("requestHash").is(requestHash)
+                            .orOperator(
+                                    Criteria.where("heartbeatAt").lt(stale),
+                                    Criteria.where("heartbeatAt").is(null).and("createdAt").lt(stale))),
+                    new Update().set("heartbeatAt", now).set("owner", owner),
+                    IdempotencyRecord.class);
+            if (abandoned == null) {
+                throw new ConflictException("A request with this " + HEADER + " is still being processed");
+            }
+            return null;
+        }
+    }
+
+    private static void checkSameRequest(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new BadRequestException(HEADER + " was already used with a different request");
+        }
+    }
+
+    private void refreshRunning() {
+        if (running.isEmpty()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (Map.Entry<String, String> entry : running.entrySet()) {
+                mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(entry.getKey()).and("owner").is(entry.getValue())),
+                        new Update().set("heartbeatAt", now),
+                        IdempotencyRecord.class);
+            }
+        } catch (Exception e) {
+            log.error("Failed to refresh in-progress idempotency records: {}", e.getMessage());
+        }
+    }
+
+    private void remember(IdempotencyRecord record) {
+        synchronized (recent) {
+            recent.put(record.getId(), record);
+            if (recent.size() > memoryEntries) {
+                recent.remove(recent.keySet().iterator().next());
+            }
+        }
+    }
+
+    private String hash(Object request) {
+        return DigestUtils.md5DigestAsHex(write(request).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent response", e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored idempotent response", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.expensetracker.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers messages to listeners in this JVM only; enough for a single instance and for local development.
+ */
+@Service
+@ConditionalOnProperty(name = "app.alerts.broker", havingValue = "memory", matchIfMissing = true)
+public class InProcessAlertBroker implements AlertBroker {
+
+    private final List<Consumer<Message>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Message message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<Message> listener) {
+        listeners.add(listener);
+    }
+}
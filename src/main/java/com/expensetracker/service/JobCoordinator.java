@@ -0,0 +1,252 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.JobLease;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scheduled jobs once per cluster instead of once per node. Every node fires the same cron, and
+ * each then claims partitions of the run through lease documents in MongoDB, so a job split into N
+ * partitions is shared by however many nodes are up. A node extends the leases of the partitions it
+ * is running, so only partitions left behind by a node that died lapse and are picked up by the
+ * recovery sweep.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobCoordinator {
+
+    /**
+     * Work for one partition of a run; implementations select their share of the keyspace with
+     * {@link #partitionCriteria(String, int, int)}.
+     */
+    @FunctionalInterface
+    public interface PartitionTask {
+        void run(int partition, int partitions);
+    }
+
+    private final MongoTemplate mongoTemplate;
+
+    public static final String PARTITION_KEY = "partitionKey";
+    public static final int PARTITION_BUCKETS = 4096;
+
+    private static final String HEX_DIGITS = "0123456789abcdef";
+    private static final int PARTITION_KEY_DIGITS = 3;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Leases this node is executing, extended by the heartbeat until they complete
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    // Own thread: jobs run on the single scheduler thread, which would block a @Scheduled heartbeat
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-lease-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Tasks this node has run, so it can finish partitions abandoned by other nodes
+    private final Map<String, PartitionTask> tasks = new ConcurrentHashMap<>();
+
+    @Value("${app.jobs.lease-minutes:30}")
+    private long leaseMinutes;
+
+    @Value("${app.jobs.retention-days:7}")
+    private long retentionDays;
+
+    @PostConstruct
+    public void init() {
+        long intervalSeconds = Math.max(TimeUnit.MINUTES.toSeconds(leaseMinutes) / 3, 1);
+        heartbeat.scheduleWithFixedDelay(this::extendRunningLeases, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+    /**
+     * The stored partition bucket for a document keyed by {@code id}. Hashed rather than taken from the
+     * ObjectId counter, which advances by a fixed stride when ids are created in a fixed pattern (a
+     * user and its default categories) and would crowd those documents into a few partitions.
+     */
+    public static int partitionKeyOf(String id) {
+        if (id == null) {
+            return 0;
+        }
+        int hash = id.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return Math.floorMod(hash, PARTITION_BUCKETS);
+    }
+
+    /**
+     * Selects the documents in the partition through the indexed {@link #PARTITION_KEY}: every bucket
+     * congruent to {@code partition} modulo {@code partitions}. Documents written before the key existed
+     * are assigned by the low hex digits of {@code field}, an ObjectId or its hex string, so each still
+     * falls in exactly one partition; that branch only reads documents without a key, which the
+     * backfill leaves none of.
+     */
+    public static Criteria partitionCriteria(String field, int partition, int partitions) {
+        if (partitions <= 1) {
+            return new Criteria();
+        }
+        List<Integer> buckets = new ArrayList<>();
+        for (int bucket = partition; bucket < PARTITION_BUCKETS; bucket += partitions) {
+            buckets.add(bucket);
+        }
+
+        Document hex = new Document("$toString", "$" + field);
+        List<Object> digits = new ArrayList<>();
+        for (int i = PARTITION_KEY_DIGITS; i >= 1; i--) {
+            Document digit = new Document("$indexOfBytes", List.of(HEX_DIGITS, new Document("$substrBytes", List.of(
+                    hex, new Document("$subtract", List.of(new Document("$strLenBytes", hex), i)), 1))));
+            digits.add(new Document("$multiply", List.of(digit, 1 << (4 * (i - 1)))));
+        }
+        Document value = new Document("$add", digits);
+        Document matches = new Document("$eq", List.of(new Document("$mod", List.of(value, partitions)), partition));
+
+        return new Criteria().orOperator(
+                Criteria.where(PARTITION_KEY).in(buckets),
+                new Criteria().andOperator(Criteria.where(PARTITION_KEY).is(null), Criteria.expr(() -> matches)));
+    }
+
+    /**
+     * Claims and runs every partition of the run that no other node holds. Nodes start at different
+     * offsets so that concurrent callers mostly claim different partitions.
+     */
+    public void runPartitioned(String jobName, String runKey, int partitions, PartitionTask task) {
+        tasks.put(jobName, task);
+        int offset = Math.floorMod(nodeId.hashCode(), partitions);
+        int ran = 0;
+
+        for (int i = 0; i < partitions; i++) {
+            int partition = (offset + i) % partitions;
+            JobLease lease = claim(jobName, runKey, partition, partitions);
+            if (lease != null) {
+                execute(lease, task);
+                ran++;
+            }
+        }
+        log.info("Job {} run {}: this node processed {} of {} partitions", jobName, runKey, ran, partitions);
+    }
+
+    /**
+     * Runs the job on exactly one node for the given run key.
+     */
+    public void runOnce(String jobName, String runKey, Runnable task) {
+        runPartitioned(jobName, runKey, 1, (partition, partitions) -> task.run());
+    }
+
+    /**
+     * Whether every partition of the run has completed, on this node or any other.
+     */
+    public boolean isRunComplete(String jobName, String runKey, int partitions) {
+        List<String> ids = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            ids.add(JobLease.idOf(jobName, runKey, partition));
+        }
+        return mongoTemplate.count(Query.query(Criteria.where("_id").in(ids).and("completedAt").ne(null)),
+                JobLease.class) == partitions;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.recovery-interval-ms:60000}", initialDelay = 60000)
+    public void recoverAbandonedPartitions() {
+        Query abandoned = Query.query(Criteria.where("completedAt").is(null).and("lockedUntil").lt(LocalDateTime.now()));
+        for (JobLease stale : mongoTemplate.find(abandoned, JobLease.class)) {
+            PartitionTask task = tasks.get(stale.getJobName());
+            if (task == null) {
+                continue;
+            }
+            JobLease lease = claim(stale.getJobName(), stale.getRunKey(), stale.getPartition(), stale.getPartitions());
+            if (lease != null) {
+                log.warn("Recovering abandoned partition {} (previous owner {})", lease.getId(), stale.getOwner());
+                execute(lease, task);
+            }
+        }
+    }
+
+    /**
+     * Inserts the lease, or takes over one whose holder let it lapse. The upsert collides on the id
+     * whenever the lease is held or already completed, which is how losing nodes find out.
+     */
+    private JobLease claim(String jobName, String runKey, int partition, int partitions) {
+        LocalDateTime now = LocalDateTime.now();
+        Query claimable = Query.query(Criteria.where("_id").is(JobLease.idOf(jobName, runKey, partition))
+                .and("completedAt").is(null)
+                .and("lockedUntil").lt(now));
+        Update update = new Update()
+                .set("owner", nodeId)
+                .set("lockedUntil", now.plusMinutes(leaseMinutes))
+                .setOnInsert("jobName", jobName)
+                .setOnInsert("runKey", runKey)
+                .setOnInsert("partition", partition)
+                .setOnInsert("partitions", partitions)
+                .setOnInsert("expiresAt", now.plusDays(retentionDays));
+
+        try {
+            return mongoTemplate.findAndModify(claimable, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), JobLease.class);
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    private void execute(JobLease lease, PartitionTask task) {
+        Update completion = new Update();
+        running.add(lease.getId());
+        try {
+            task.run(lease.getPartition(), lease.getPartitions());
+        } catch (Exception e) {
+            // Not retried: per-item failures are handled inside the jobs, so this is an unexpected error
+            log.error("Job partition {} failed: {}", lease.getId(), e.getMessage());
+            completion.set("error", e.getMessage());
+        } finally {
+            running.remove(lease.getId());
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(lease.getId()).and("owner").is(nodeId)),
+                completion.set("completedAt", LocalDateTime.now()), JobLease.class);
+    }
+
+    private void extendRunningLeases() {
+        if (running.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> ids = new ArrayList<>(running);
+            long extended = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids).and("owner").is(nodeId).and("completedAt").is(null)),
+                    new Update().set("lockedUntil", LocalDateTime.now().plusMinutes(leaseMinutes)),
+                    JobLease.class).getModifiedCount();
+            if (extended < ids.size()) {
+                log.warn("Extended {} of {} running job leases; the others were taken over or finished", extended, ids.size());
+            }
+        } catch (Exception e) {
+            log.error("Failed to extend job leases: {}", e.getMessage());
+        }
+    }
+}
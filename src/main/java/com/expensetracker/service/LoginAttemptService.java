@@ -0,0 +1,76 @@
+package com.expensetracker.service;
+
+import com.expensetracker.exception.RateLimitExceededException;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Throttle on login attempts per account and client. Each attempt takes a token up front, so
+ * concurrent requests cannot slip past the limit; a successful login hands the account back its full
+ * allowance. Keying by client as well means a stranger cannot lock a real user out from elsewhere.
+ * At most {@code max-tracked-logins} pairs are held; beyond that new pairs go untracked (the per-IP
+ * rate limit still applies) rather than growing the map for every email an attacker submits.
+ */
+@Slf4j
+@Service
+public class LoginAttemptService {
+
+    private final Map<String, Bucket> attempts = new ConcurrentHashMap<>();
+
+    @Value("${app.auth.max-failed-logins:5}")
+    private int maxFailures;
+
+    @Value("${app.auth.failed-login-window-minutes:15}")
+    private int windowMinutes;
+
+    @Value("${app.auth.max-tracked-logins:100000}")
+    private int maxTracked;
+
+    public void acquire(String email, String client) {
+        String key = key(email, client);
+        Bucket bucket = attempts.get(key);
+        if (bucket == null) {
+            if (attempts.size() >= maxTracked) {
+                purgeRecoveredAccounts();
+            }
+            if (attempts.size() >= maxTracked) {
+                log.warn("Login throttle full ({} entries), not tracking {}", attempts.size(), email);
+                return;
+            }
+            bucket = attempts.computeIfAbsent(key, k -> newBucket());
+        }
+        if (!bucket.tryConsume(1)) {
+            log.warn("Login refused for {} from {}: too many failed attempts", email, client);
+            throw new RateLimitExceededException("Too many failed login attempts. Please try again later.");
+        }
+    }
+
+    public void recordSuccess(String email, String client) {
+        attempts.remove(key(email, client));
+    }
+
+    @Scheduled(fixedDelay = 600000)
+    public void purgeRecoveredAccounts() {
+        attempts.values().removeIf(bucket -> bucket.getAvailableTokens() >= maxFailures);
+    }
+
+    private static String key(String email, String client) {
+        return email + "|" + client;
+    }
+
+    private Bucket newBucket() {
+        Bandwidth limit = Bandwidth.builder()
+                .capacity(maxFailures)
+                .refillGreedy(maxFailures, Duration.ofMinutes(windowMinutes))
+                .build();
+        return Bucket.builder().addLimit(limit).build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.Budget;
+import com.expensetracker.model.Expense;
+import com.expensetracker.util.MinorUnits;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Online migration of monetary fields from the legacy string encoding to Decimal128. Runs in the
+ * background after startup in small id-bounded batches, each a single server-side pipeline update,
+ * so the collections stay writable throughout. Safe to rerun: only string-typed values are touched.
+ * Legacy values with sub-cent digits are then rounded to cents, which the aggregation code requires.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MoneyMigrationService {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final AtomicBoolean complete = new AtomicBoolean(false);
+
+    @Value("${app.money.migrate-on-startup:true}")
+    private boolean migrateOnStartup;
+
+    @Value("${app.money.migration-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.money.migration-pause-ms:50}")
+    private long pauseMillis;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (migrateOnStartup) {
+            migrate();
+        }
+    }
+
+    public void migrate() {
+        String expenses = mongoTemplate.getCollectionName(Expense.class);
+        String budgets = mongoTemplate.getCollectionName(Budget.class);
+        long migrated = migrateField(expenses, "amount") + migrateField(budgets, "limitAmount");
+        long rounded = roundToCents(expenses, "amount") + roundToCents(budgets, "limitAmount");
+        if (Thread.currentThread().isInterrupted()) {
+            log.warn("Monetary field migration interrupted after {} documents", migrated + rounded);
+            return;
+        }
+        complete.set(true);
+        log.info("Monetary field migration completed, {} documents converted to Decimal128", migrated);
+        if (rounded > 0) {
+            log.warn("Rounded {} legacy monetary values with sub-cent digits to {} decimal places", rounded, MinorUnits.SCALE);
+        }
+    }
+
+    public boolean isComplete() {
+        return complete.get();
+    }
+
+    private long migrateField(String collection, String field) {
+        return updateInBatches(collection, Criteria.where(field).type(JsonSchemaObject.Type.stringType()),
+                AggregationUpdate.update().set(field).toValue(ConvertOperators.valueOf(field).convertToDecimal()));
+    }
+
+    private long roundToCents(String collection, String field) {
+        AggregationExpression cents = ArithmeticOperators.valueOf(field).round().place(MinorUnits.SCALE);
+        // Rendered up front: the query targets a collection name, so there is no entity to map the expression against
+        Document differs = ComparisonOperators.valueOf(field).notEqualTo(cents).toDocument(Aggregation.DEFAULT_CONTEXT);
+        return updateInBatches(collection, Criteria.expr(() -> differs),
+                AggregationUpdate.update().set(field).toValue(cents));
+    }
+
+    private long updateInBatches(String collection, Criteria legacy, AggregationUpdate update) {
+        long migrated = 0;
+
+        while (true) {
+            Query batch = Query.query(legacy).limit(batchSize);
+            batch.fields().include("_id");
+            List<Object> ids = mongoTemplate.find(batch, Document.class, collection).stream()
+                    .map(document -> document.get("_id"))
+                    .toList();
+            if (ids.isEmpty()) {
+                return migrated;
+            }
+
+            migrated += mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids).andOperator(legacy)),
+                    update, collection).getModifiedCount();
+            log.debug("Migrated {} {} documents", migrated, collection);
+
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return migrated;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.Budget;
+import com.expensetracker.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Stamps users and budgets written before {@link JobCoordinator#PARTITION_KEY} existed, or inserted
+ * around the API (the load-test seeder), with their partition bucket. Until it finishes, partitioned
+ * jobs still find those documents through the derived fallback in
+ * {@link JobCoordinator#partitionCriteria(String, int, int)}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartitionKeyBackfillService {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.jobs.partition-backfill-batch-size:1000}")
+    private int batchSize;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        long users = backfill(mongoTemplate.getCollectionName(User.class), "_id");
+        long budgets = backfill(mongoTemplate.getCollectionName(Budget.class), "userId");
+        if (users + budgets > 0) {
+            log.info("Stamped {} users and {} budgets with their job partition bucket", users, budgets);
+        }
+    }
+
+    private long backfill(String collection, String keyField) {
+        long stamped = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            // The index on the key serves the null match, and each batch removes its documents from it
+            Query batch = Query.query(Criteria.where(JobCoordinator.PARTITION_KEY).is(null)).limit(batchSize);
+            batch.fields().include("_id").include(keyField);
+            List<Document> documents = mongoTemplate.find(batch, Document.class, collection);
+            if (documents.isEmpty()) {
+                break;
+            }
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+            for (Document document : documents) {
+                Object key = document.get(keyField);
+                bulk.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))),
+                        new Update().set(JobCoordinator.PARTITION_KEY,
+                                JobCoordinator.partitionKeyOf(key != null ? key.toString() : null)));
+            }
+            stamped += bulk.execute().getModifiedCount();
+        }
+        return stamped;
+    }
+}
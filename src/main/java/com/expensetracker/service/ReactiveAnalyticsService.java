@@ -0,0 +1,164 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.response.AnalyticsResponse;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.repository.reactive.ReactiveCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Analytics computed by reactive aggregations on the server rather than by loading expenses,
+ * enabled with app.reactive.enabled. Amounts go through $toDecimal so both string-encoded and
+ * numeric amounts are summed correctly.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveAnalyticsService {
+
+    private static final AggregationExpression AMOUNT = ConvertOperators.valueOf("amount").convertToDecimal();
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReactiveCategoryRepository categoryRepository;
+
+    public Mono<AnalyticsResponse> getExpenseSummary(String userId, LocalDate startDate, LocalDate endDate) {
+        Mono<Document> totals = aggregate(userId, startDate, endDate, Aggregation.group()
+                .sum(AMOUNT).as("amount")
+                .count().as("count")
+                .max(AMOUNT).as("highest")
+                .min(AMOUNT).as("lowest"))
+                .next()
+                .defaultIfEmpty(new Document());
+
+        return Mono.zip(totals,
+                getCategoryWiseExpenses(userId, startDate, endDate),
+                getMonthlyExpenses(userId, startDate, endDate),
+                getPaymentMethodBreakdown(userId, startDate, endDate))
+                .map(tuple -> {
+                    Document summary = tuple.getT1();
+                    BigDecimal total = toBigDecimal(summary.get("amount"));
+                    int count = summary.getInteger("count", 0);
+
+                    return AnalyticsResponse.builder()
+                            .totalExpenses(total)
+                            .totalTransactions(count)
+                            .averageExpense(count > 0
+                                    ? total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
+                                    : BigDecimal.ZERO)
+                            .highestExpense(toBigDecimal(summary.get("highest")))
+                            .lowestExpense(toBigDecimal(summary.get("lowest")))
+                            .categoryBreakdown(tuple.getT2())
+                            .monthlyTrends(tuple.getT3())
+                            .paymentMethodBreakdown(tuple.getT4())
+                            .build();
+                });
+    }
+
+    public Mono<List<AnalyticsResponse.CategoryBreakdown>> getCategoryWiseExpenses(String userId,
+            LocalDate startDate, LocalDate endDate) {
+        Mono<List<Document>> groups = aggregate(userId, startDate, endDate, Aggregation.group("categoryId")
+                .sum(AMOUNT).as("amount")
+                .count().as("count"))
+                .collectList();
+        Mono<Map<String, String>> names = categoryRepository.findByUserId(userId)
+                .collectMap(Category::getId, Category::getName);
+
+        return Mono.zip(groups, names).map(tuple -> {
+            BigDecimal total = tuple.getT1().stream()
+                    .map(group -> toBigDecimal(group.get("amount")))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            return tuple.getT1().stream()
+                    .map(group -> {
+                        String categoryId = group.getString("_id");
+                        BigDecimal amount = toBigDecimal(group.get("amount"));
+                        double percentage = total.compareTo(BigDecimal.ZERO) > 0
+                                ? amount.divide(total, 4, RoundingMode.HALF_UP)
+                                        .multiply(BigDecimal.valueOf(100)).doubleValue()
+                                : 0.0;
+
+                        return AnalyticsResponse.CategoryBreakdown.builder()
+                                .categoryId(categoryId != null ? categoryId : "uncategorized")
+                                .categoryName(categoryId != null
+                                        ? tuple.getT2().getOrDefault(categoryId, "Unknown")
+                                        : "Uncategorized")
+                                .amount(amount)
+                                .count(group.getInteger("count"))
+                                .percentage(percentage)
+                                .build();
+                    })
+                    .sorted((a, b) -> b.getAmount().compareTo(a.getAmount()))
+                    .toList();
+        });
+    }
+
+    public Mono<List<AnalyticsResponse.MonthlyTrend>> getMonthlyExpenses(String userId,
+            LocalDate startDate, LocalDate endDate) {
+        // LocalDate is stored as midnight in the server's zone, so months are cut in that zone too
+        AggregationExpression month = DateOperators.dateOf("expenseDate")
+                .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()))
+                .toString("%Y-%m");
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(
+                        Aggregation.match(rangeCriteria(userId, startDate, endDate)),
+                        Aggregation.project().and(month).as("month").and(AMOUNT).as("amount"),
+                        Aggregation.group("month").sum("amount").as("amount").count().as("count"),
+                        Aggregation.sort(Sort.Direction.ASC, "_id")),
+                        Expense.class, Document.class)
+                .map(group -> AnalyticsResponse.MonthlyTrend.builder()
+                        .month(group.getString("_id"))
+                        .amount(toBigDecimal(group.get("amount")))
+                        .count(group.getInteger("count"))
+                        .build())
+                .collectList();
+    }
+
+    public Mono<Map<String, BigDecimal>> getPaymentMethodBreakdown(String userId, LocalDate startDate, LocalDate endDate) {
+        return aggregate(userId, startDate, endDate, Aggregation.group("paymentMethod").sum(AMOUNT).as("amount"))
+                .collectMap(group -> group.getString("_id") != null ? group.getString("_id") : "UNKNOWN",
+                        group -> toBigDecimal(group.get("amount")));
+    }
+
+    private Flux<Document> aggregate(String userId, LocalDate startDate, LocalDate endDate, GroupOperation group) {
+        return mongoTemplate.aggregate(Aggregation.newAggregation(
+                Aggregation.match(rangeCriteria(userId, startDate, endDate)),
+                group), Expense.class, Document.class);
+    }
+
+    private Criteria rangeCriteria(String userId, LocalDate startDate, LocalDate endDate) {
+        return Criteria.where("userId").is(userId).and("expenseDate").gte(startDate).lte(endDate);
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.ZERO;
+    }
+}
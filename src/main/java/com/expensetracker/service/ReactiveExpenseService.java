@@ -0,0 +1,81 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.response.BudgetResponse;
+import com.expensetracker.dto.response.ExpenseResponse;
+import com.expensetracker.exception.ResourceNotFoundException;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.repository.reactive.ReactiveBudgetRepository;
+import com.expensetracker.repository.reactive.ReactiveCategoryRepository;
+import com.expensetracker.repository.reactive.ReactiveExpenseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of the expense and budget read paths, enabled with app.reactive.enabled.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveExpenseService {
+
+    private static final Sort EXPENSE_DATE_DESC = Sort.by("expenseDate").descending();
+
+    private final ReactiveExpenseRepository expenseRepository;
+    private final ReactiveCategoryRepository categoryRepository;
+    private final ReactiveBudgetRepository budgetRepository;
+
+    public Flux<ExpenseResponse> streamExpenses(String userId, String categoryId, LocalDate startDate, LocalDate endDate) {
+        Flux<Expense> expenses;
+
+        if (startDate != null && endDate != null) {
+            expenses = categoryId != null
+                    ? expenseRepository.findByUserIdAndCategoryIdAndExpenseDateBetween(
+                            userId, categoryId, startDate, endDate, EXPENSE_DATE_DESC)
+                    : expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate, EXPENSE_DATE_DESC);
+        } else if (categoryId != null) {
+            expenses = expenseRepository.findByUserIdAndCategoryId(userId, categoryId, EXPENSE_DATE_DESC);
+        } else {
+            expenses = expenseRepository.findByUserId(userId, EXPENSE_DATE_DESC);
+        }
+
+        // Category names are resolved once per stream instead of once per expense
+        return categoryNames(userId).flatMapMany(names -> expenses.map(expense ->
+                ExpenseResponse.fromExpense(expense, expenseCategoryName(names, expense.getCategoryId()))));
+    }
+
+    public Mono<ExpenseResponse> getExpenseById(String expenseId, String userId) {
+        return expenseRepository.findByIdAndUserId(expenseId, userId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Expense", "id", expenseId)))
+                .zipWith(categoryNames(userId),
+                        (expense, names) -> ExpenseResponse.fromExpense(expense,
+                                expenseCategoryName(names, expense.getCategoryId())));
+    }
+
+    public Flux<BudgetResponse> streamBudgets(String userId) {
+        return categoryNames(userId).flatMapMany(names -> budgetRepository.findByUserId(userId)
+                .map(budget -> BudgetResponse.fromBudget(budget, budget.getCategoryId() == null
+                        ? "All Categories"
+                        : names.getOrDefault(budget.getCategoryId(), "Unknown"))));
+    }
+
+    private Mono<Map<String, String>> categoryNames(String userId) {
+        return categoryRepository.findByUserId(userId).collectMap(Category::getId, Category::getName);
+    }
+
+    private String expenseCategoryName(Map<String, String> names, String categoryId) {
+        if (categoryId == null) {
+            return "Uncategorized";
+        }
+        return names.getOrDefault(categoryId, "Unknown");
+    }
+}
@@ -0,0 +1,146 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.Expense;
+import com.expensetracker.repository.ExpenseRepository;
+import com.mongodb.ErrorCategory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecurringExpenseService {
+
+    private final ExpenseRepository expenseRepository;
+    private final MongoTemplate mongoTemplate;
+    private final BudgetService budgetService;
+    private final ExpenseHotSetCache hotSetCache;
+    private final DataVersionService dataVersionService;
+
+    @Value("${app.recurring.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.recurring.max-occurrences-per-run:366}")
+    private int maxOccurrencesPerRun;
+
+    /**
+     * Materializes every occurrence due on or before {@code today}. Only templates whose indexed
+     * {@code nextOccurrence} is due are read, occurrences are inserted in bulk under a unique
+     * occurrence key so reruns are harmless, and each affected budget is re-evaluated once.
+     *
+     * @return number of expenses inserted
+     */
+    public int materializeDueOccurrences(LocalDate today) {
+        Set<String> affectedBudgets = new LinkedHashSet<>();
+        Set<String> affectedUsers = new LinkedHashSet<>();
+        int inserted = 0;
+
+        List<Expense> templates;
+        while (!(templates = expenseRepository.findByNextOccurrenceLessThanEqual(
+                today, PageRequest.of(0, batchSize))).isEmpty()) {
+            List<Expense> occurrences = new ArrayList<>();
+            BulkOperations templateUpdates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Expense.class);
+
+            for (Expense template : templates) {
+                LocalDate next = template.getNextOccurrence();
+                Expense.RecurrencePattern pattern = template.getRecurrencePattern();
+
+                if (pattern == null || !Boolean.TRUE.equals(template.getIsRecurring())) {
+                    templateUpdates.updateOne(Query.query(Criteria.where("_id").is(template.getId())),
+                            new Update().unset("nextOccurrence"));
+                    continue;
+                }
+
+                for (int n = 0; !next.isAfter(today) && n < maxOccurrencesPerRun; n++) {
+                    occurrences.add(occurrenceOf(template, next));
+                    next = pattern.nextAfter(template.getExpenseDate(), next);
+                }
+                if (!next.isAfter(today)) {
+                    log.warn("Recurring expense {} capped at {} occurrences this run", template.getId(), maxOccurrencesPerRun);
+                    next = pattern.nextAfter(template.getExpenseDate(), today);
+                }
+
+                templateUpdates.updateOne(Query.query(Criteria.where("_id").is(template.getId())),
+                        new Update().set("nextOccurrence", next).set("updatedAt", LocalDateTime.now()));
+                affectedUsers.add(template.getUserId());
+                if (template.getCategoryId() != null) {
+                    affectedBudgets.add(template.getUserId() + "|" + template.getCategoryId());
+                }
+            }
+
+            // Occurrences go in before templates advance, so a crash in between is repaired by the next run
+            inserted += insertIgnoringDuplicates(occurrences);
+            templateUpdates.execute();
+        }
+
+        for (String userId : affectedUsers) {
+            hotSetCache.invalidate(userId);
+            dataVersionService.bump(userId);
+        }
+
+        for (String key : affectedBudgets) {
+            String[] parts = key.split("\\|", 2);
+            try {
+                budgetService.checkBudgetAndAlert(parts[0], parts[1]);
+            } catch (Exception e) {
+                log.error("Failed to check budget for user {} category {}: {}", parts[0], parts[1], e.getMessage());
+            }
+        }
+
+        return inserted;
+    }
+
+    private Expense occurrenceOf(Expense template, LocalDate date) {
+        return Expense.builder()
+                .userId(template.getUserId())
+                .categoryId(template.getCategoryId())
+                .amount(template.getAmount())
+                .currency(template.getCurrency())
+                .description(template.getDescription())
+                .expenseDate(date)
+                .paymentMethod(template.getPaymentMethod())
+                .tags(template.getTags())
+                .isRecurring(false)
+                .recurrencePattern(template.getRecurrencePattern())
+                .recurringSourceId(template.getId())
+                .occurrenceKey(template.getId() + ":" + date)
+                .build();
+    }
+
+    private int insertIgnoringDuplicates(List<Expense> occurrences) {
+        if (occurrences.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Expense.class)
+                    .insert(occurrences)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream()
+                    .allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            log.info("Skipped {} already materialized occurrences", e.getErrors().size());
+            return e.getResult().getInsertedCount();
+        }
+    }
+}
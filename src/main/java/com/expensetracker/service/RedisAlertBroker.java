@@ -0,0 +1,77 @@
+package com.expensetracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Fans messages out to every instance over one Redis pub/sub channel. Delivery is at most once; a
+ * client that misses an alert while its node is disconnected catches up through Last-Event-ID.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.alerts.broker", havingValue = "redis")
+public class RedisAlertBroker implements AlertBroker {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer container;
+    private final String channel;
+    private final List<Consumer<Message>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisAlertBroker(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper,
+            @Value("${app.alerts.redis-channel:expense-tracker:alerts}") String channel) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+
+        this.container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> receive(message.getBody()), new ChannelTopic(channel));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @Override
+    public void publish(Message message) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize alert message", e);
+        } catch (RuntimeException e) {
+            log.warn("Could not publish alert message for user {}: {}", message.userId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Message> listener) {
+        listeners.add(listener);
+    }
+
+    private void receive(byte[] body) {
+        try {
+            Message message = objectMapper.readValue(new String(body, StandardCharsets.UTF_8), Message.class);
+            listeners.forEach(listener -> listener.accept(message));
+        } catch (Exception e) {
+            log.warn("Dropping unreadable alert message: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        container.destroy();
+    }
+}
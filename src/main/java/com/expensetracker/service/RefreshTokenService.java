@@ -0,0 +1,117 @@
+package com.expensetracker.service;
+
+import com.expensetracker.exception.UnauthorizedException;
+import com.expensetracker.model.RefreshToken;
+import com.expensetracker.repository.RefreshTokenRepository;
+import com.expensetracker.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Rotating refresh tokens grouped into families, one family per login. Every refresh consumes the
+ * presented token and issues its successor. Presenting a token that was already consumed means it
+ * was stolen or replayed, so the whole family is revoked.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final MongoTemplate mongoTemplate;
+    private final JwtUtil jwtUtil;
+
+    public String newFamily() {
+        return UUID.randomUUID().toString();
+    }
+
+    public String issue(String userId, String familyId) {
+        String tokenId = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .id(tokenId)
+                .userId(userId)
+                .familyId(familyId)
+                .issuedAt(now)
+                .expiresAt(now.plusMillis(jwtUtil.getRefreshExpiration()))
+                .build());
+
+        return jwtUtil.generateRefreshToken(userId, familyId, tokenId);
+    }
+
+    /**
+     * Consumes a refresh token and returns its stored record so the caller can issue the next one.
+     */
+    public RefreshToken consume(String token) {
+        Claims claims = parse(token);
+        String familyId = claims.get(JwtUtil.CLAIM_FAMILY_ID, String.class);
+
+        if (tokenRevocationService.isRevoked(familyId)) {
+            throw new UnauthorizedException("Invalid or expired refresh token");
+        }
+
+        RefreshToken consumed = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(claims.getId()).and("consumedAt").is(null)),
+                new Update().set("consumedAt", Instant.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                RefreshToken.class);
+
+        if (consumed == null) {
+            if (refreshTokenRepository.existsById(claims.getId())) {
+                log.warn("Refresh token reuse detected for user {}, revoking family {}", claims.getSubject(), familyId);
+                revokeFamily(familyId, claims.getSubject());
+            }
+            throw new UnauthorizedException("Invalid or expired refresh token");
+        }
+
+        return consumed;
+    }
+
+    public void revoke(String token) {
+        Claims claims = parse(token);
+        revokeFamily(claims.get(JwtUtil.CLAIM_FAMILY_ID, String.class), claims.getSubject());
+    }
+
+    public void revokeFamily(String familyId, String userId) {
+        tokenRevocationService.revoke(familyId, userId, revocationExpiry());
+    }
+
+    /**
+     * Revokes every session the user still has, e.g. after a password change.
+     */
+    public void revokeAllForUser(String userId) {
+        Set<String> families = new LinkedHashSet<>();
+        refreshTokenRepository.findByUserIdAndExpiresAtAfter(userId, Instant.now())
+                .forEach(token -> families.add(token.getFamilyId()));
+        families.forEach(familyId -> revokeFamily(familyId, userId));
+    }
+
+    private Claims parse(String token) {
+        Claims claims = jwtUtil.parseToken(token);
+        // Refresh tokens issued before rotation carry no jti and can no longer be honoured
+        if (claims == null || !JwtUtil.TOKEN_TYPE_REFRESH.equals(claims.get(JwtUtil.CLAIM_TOKEN_TYPE, String.class))
+                || claims.getId() == null) {
+            throw new UnauthorizedException("Invalid or expired refresh token");
+        }
+        return claims;
+    }
+
+    private Instant revocationExpiry() {
+        // Kept until every access or refresh token that could carry the family has expired
+        return Instant.now().plusMillis(Math.max(jwtUtil.getRefreshExpiration(), jwtUtil.getJwtExpiration()));
+    }
+}
@@ -2,40 +2,67 @@ package com.expensetracker.service;
 
 import com.expensetracker.model.Budget;
 import com.expensetracker.model.User;
-import com.expensetracker.repository.BudgetRepository;
 import com.expensetracker.repository.ExpenseRepository;
-import com.expensetracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ScheduledTaskService {
 
-    private final UserRepository userRepository;
     private final ExpenseRepository expenseRepository;
-    private final BudgetRepository budgetRepository;
     private final EmailService emailService;
     private final BudgetService budgetService;
+    private final RecurringExpenseService recurringExpenseService;
+    private final JobCoordinator jobCoordinator;
+    private final MongoTemplate mongoTemplate;
+    private final AnalyticsService analyticsService;
+    private final AnalyticsSnapshotService analyticsSnapshotService;
+
+    @Value("${app.jobs.partitions:8}")
+    private int partitions;
+
+    @Value("${app.analytics.precompute.active-days:14}")
+    private int precomputeActiveDays;
+
+    @Value("${app.analytics.precompute.threads:4}")
+    private int precomputeThreads;
+
+    @Value("${app.analytics.precompute.batch-size:200}")
+    private int precomputeBatchSize;
 
     /**
      * Send weekly expense summary every Sunday at 9 AM
      */
     @Scheduled(cron = "0 0 9 * * SUN")
     public void sendWeeklySummaries() {
-        log.info("Starting weekly summary email job");
+        jobCoordinator.runPartitioned("weekly-summary", LocalDate.now().toString(), partitions, this::sendWeeklySummaries);
+    }
+
+    void sendWeeklySummaries(int partition, int partitions) {
+        log.info("Starting weekly summary email job, partition {}/{}", partition + 1, partitions);
 
-        List<User> activeUsers = userRepository.findAll().stream()
-                .filter(User::getIsActive)
-                .toList();
+        Query active = Query.query(new Criteria().andOperator(
+                Criteria.where("isActive").is(true), JobCoordinator.partitionCriteria("_id", partition, partitions)));
+        List<User> activeUsers = mongoTemplate.find(active, User.class);
 
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusWeeks(1);
@@ -63,13 +90,27 @@ public class ScheduledTaskService {
     }
 
     /**
-     * Check budgets daily at 8 AM and send alerts if needed
+     * Check budgets daily at 8 AM and send alerts if needed, then precompute dashboard summaries
      */
     @Scheduled(cron = "0 0 8 * * *")
     public void checkBudgetsAndSendAlerts() {
-        log.info("Starting daily budget check job");
+        String runKey = LocalDate.now().toString();
+        jobCoordinator.runPartitioned("budget-check", runKey, partitions, this::checkBudgetsAndSendAlerts);
+        // Only the node that sees the last budget partition finish starts the precompute; the others
+        // return while slices they did not claim are still running elsewhere
+        if (analyticsSnapshotService.isEnabled()
+                && jobCoordinator.isRunComplete("budget-check", runKey, partitions)) {
+            jobCoordinator.runPartitioned("analytics-precompute", runKey, partitions, this::precomputeAnalytics);
+        }
+    }
+
+    void checkBudgetsAndSendAlerts(int partition, int partitions) {
+        log.info("Starting daily budget check job, partition {}/{}", partition + 1, partitions);
 
-        List<Budget> activeBudgets = budgetRepository.findByIsActiveTrue();
+        // Partitioned by user, so one user's budgets are checked on one node
+        List<Budget> activeBudgets = mongoTemplate.find(Query.query(new Criteria().andOperator(
+                Criteria.where("isActive").is(true),
+                JobCoordinator.partitionCriteria("userId", partition, partitions))), Budget.class);
 
         for (Budget budget : activeBudgets) {
             try {
@@ -83,4 +124,65 @@ public class ScheduledTaskService {
 
         log.info("Daily budget check completed");
     }
+
+    void precomputeAnalytics(int partition, int partitions) {
+        log.info("Starting analytics precompute job, partition {}/{}", partition + 1, partitions);
+
+        LocalDate today = LocalDate.now();
+        Query recentlyActive = Query.query(new Criteria().andOperator(
+                Criteria.where("lastActiveAt").gte(LocalDateTime.now().minusDays(precomputeActiveDays)).and("isActive").is(true),
+                JobCoordinator.partitionCriteria("_id", partition, partitions)));
+        recentlyActive.fields().include("_id");
+
+        ExecutorService executor = Executors.newFixedThreadPool(precomputeThreads);
+        int computed = 0;
+        try (Stream<User> users = mongoTemplate.stream(recentlyActive, User.class)) {
+            List<Callable<Void>> batch = new ArrayList<>(precomputeBatchSize);
+            for (User user : (Iterable<User>) users::iterator) {
+                batch.add(() -> {
+                    try {
+                        analyticsService.precomputeSummaries(user.getId(), today);
+                    } catch (Exception e) {
+                        log.error("Failed to precompute analytics for user {}: {}", user.getId(), e.getMessage());
+                    }
+                    return null;
+                });
+                if (batch.size() == precomputeBatchSize) {
+                    computed += runBatch(executor, batch);
+                }
+            }
+            computed += runBatch(executor, batch);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Analytics precompute completed for {} users", computed);
+    }
+
+    private int runBatch(ExecutorService executor, List<Callable<Void>> batch) {
+        int size = batch.size();
+        try {
+            executor.invokeAll(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Analytics precompute interrupted", e);
+        }
+        batch.clear();
+        return size;
+    }
+
+    /**
+     * Materialize due recurring expenses daily at 1 AM, ahead of the budget check
+     */
+    @Scheduled(cron = "0 0 1 * * *")
+    public void materializeRecurringExpenses() {
+        LocalDate today = LocalDate.now();
+        jobCoordinator.runOnce("recurring-expenses", today.toString(), () -> {
+            log.info("Starting recurring expense job");
+
+            int inserted = recurringExpenseService.materializeDueOccurrences(today);
+
+            log.info("Recurring expense job completed, {} expenses created", inserted);
+        });
+    }
 }
@@ -0,0 +1,264 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.response.BudgetResponse;
+import com.expensetracker.dto.response.CategoryResponse;
+import com.expensetracker.dto.response.ExpenseResponse;
+import com.expensetracker.dto.response.SyncResponse;
+import com.expensetracker.exception.BadRequestException;
+import com.expensetracker.model.Budget;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Tombstone;
+import com.expensetracker.repository.ExpenseRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Delta sync for offline clients. A sync token is an opaque timestamp: everything updated or deleted
+ * at or after it is returned, together with the token for the next call. Tokens trail the current
+ * time by a short overlap so that writes still in flight when a page is read are not skipped; clients
+ * may therefore see a record twice and must apply changes idempotently.
+ * <p>
+ * A full download is paged too: its tokens carry the snapshot time and an expense id cursor, first
+ * through the hot collection and then through the archive. The last page hands out a delta token
+ * for the snapshot time, so changes made while the client was paging arrive on the next call.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    private static final String TOKEN_PREFIX = "v1:";
+    private static final String FULL_TOKEN_PREFIX = "f1:";
+
+    /**
+     * Position within a paged full download: expenses after {@code lastId} in the hot collection, or in
+     * the archive once {@code archive} is set.
+     */
+    private record FullSyncCursor(LocalDateTime snapshot, boolean archive, String lastId) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.sync.page-size:500}")
+    private int pageSize;
+
+    @Value("${app.sync.overlap-ms:5000}")
+    private long overlapMillis;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private long retentionDays;
+
+    public void recordDeletion(String userId, Tombstone.EntityType type, Collection<String> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.insertAll(entityIds.stream()
+                .map(entityId -> Tombstone.builder()
+                        .userId(userId)
+                        .entityType(type)
+                        .entityId(entityId)
+                        .deletedAt(now)
+                        .expiresAt(now.plusDays(retentionDays))
+                        .build())
+                .toList());
+    }
+
+    public SyncResponse sync(String userId, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime settled = now.minusNanos(overlapMillis * 1_000_000);
+        String decoded = token != null && !token.isBlank() ? decode(token) : null;
+        if (decoded != null && decoded.startsWith(FULL_TOKEN_PREFIX)) {
+            return fullSync(userId, fullSyncCursor(decoded), false);
+        }
+        LocalDateTime since = decoded != null ? timestamp(decoded) : null;
+
+        // Tombstones older than the retention window are gone, so the client has to start over
+        if (since == null || since.isBefore(now.minusDays(retentionDays))) {
+            return fullSync(userId, new FullSyncCursor(settled, false, null), since != null);
+        }
+
+        List<Expense> expenses = changed(userId, Expense.class, "updatedAt", since, pageSize + 1);
+        List<Category> categories = changed(userId, Category.class, "updatedAt", since, pageSize + 1);
+        List<Budget> budgets = changed(userId, Budget.class, "updatedAt", since, pageSize + 1);
+        List<Tombstone> tombstones = changed(userId, Tombstone.class, "deletedAt", since, pageSize + 1);
+
+        // Page boundary: the first timestamp not returned by any truncated collection, never later than
+        // the settled point. Everything strictly before it is complete in every collection.
+        LocalDateTime cutoff = settled;
+        cutoff = boundary(expenses, Expense::getUpdatedAt, cutoff);
+        cutoff = boundary(categories, Category::getUpdatedAt, cutoff);
+        cutoff = boundary(budgets, Budget::getUpdatedAt, cutoff);
+        cutoff = boundary(tombstones, Tombstone::getDeletedAt, cutoff);
+
+        boolean hasMore = cutoff.isBefore(settled);
+        if (hasMore && !cutoff.isAfter(since)) {
+            // More than a page shares the token's exact timestamp (a bulk update); return that instant whole
+            LocalDateTime instant = since;
+            LocalDateTime next = since.plusNanos(1_000_000);
+            return response(
+                    changedBetween(userId, Expense.class, "updatedAt", instant, next),
+                    List.of(),
+                    changedBetween(userId, Category.class, "updatedAt", instant, next),
+                    changedBetween(userId, Budget.class, "updatedAt", instant, next),
+                    changedBetween(userId, Tombstone.class, "deletedAt", instant, next),
+                    encode(next), true, false);
+        }
+
+        LocalDateTime upTo = cutoff;
+        return response(
+                before(expenses, Expense::getUpdatedAt, upTo),
+                List.of(),
+                before(categories, Category::getUpdatedAt, upTo),
+                before(budgets, Budget::getUpdatedAt, upTo),
+                before(tombstones, Tombstone::getDeletedAt, upTo),
+                encode(hasMore ? cutoff : (settled.isAfter(since) ? settled : since)), hasMore, false);
+    }
+
+    /**
+     * One page of a full download. Categories and budgets are few and come whole with the first page;
+     * expenses are paged by id, and archived ones are returned separately because they are read-only.
+     */
+    private SyncResponse fullSync(String userId, FullSyncCursor cursor, boolean reset) {
+        boolean firstPage = !cursor.archive() && cursor.lastId() == null;
+        Query owned = Query.query(Criteria.where("userId").is(userId));
+
+        Criteria remaining = Criteria.where("userId").is(userId);
+        if (cursor.lastId() != null) {
+            remaining = remaining.and("_id").gt(new ObjectId(cursor.lastId()));
+        }
+        Query page = Query.query(remaining).with(Sort.by(Sort.Direction.ASC, "_id")).limit(pageSize + 1);
+        List<Expense> expenses = cursor.archive()
+                ? mongoTemplate.find(page, Expense.class, ExpenseRepositoryCustom.ARCHIVE_COLLECTION)
+                : mongoTemplate.find(page, Expense.class);
+
+        String next;
+        boolean hasMore = true;
+        if (expenses.size() > pageSize) {
+            expenses = expenses.subList(0, pageSize);
+            next = encodeFull(new FullSyncCursor(cursor.snapshot(), cursor.archive(), expenses.get(pageSize - 1).getId()));
+        } else if (!cursor.archive()) {
+            next = encodeFull(new FullSyncCursor(cursor.snapshot(), true, null));
+        } else {
+            next = encode(cursor.snapshot());
+            hasMore = false;
+        }
+
+        return response(
+                cursor.archive() ? List.of() : expenses,
+                cursor.archive() ? expenses : List.of(),
+                firstPage ? mongoTemplate.find(owned, Category.class) : List.of(),
+                firstPage ? mongoTemplate.find(owned, Budget.class) : List.of(),
+                List.of(),
+                next, hasMore, reset);
+    }
+
+    private SyncResponse response(List<Expense> expenses, List<Expense> archivedExpenses, List<Category> categories,
+            List<Budget> budgets, List<Tombstone> tombstones, String next, boolean hasMore, boolean fullResync) {
+        return SyncResponse.builder()
+                .expenses(expenses.stream().map(ExpenseResponse::fromExpense).toList())
+                .archivedExpenses(archivedExpenses.stream().map(ExpenseResponse::fromExpense).toList())
+                .categories(categories.stream().map(CategoryResponse::fromCategory).toList())
+                .budgets(budgets.stream().map(BudgetResponse::fromBudget).toList())
+                .deleted(tombstones.stream()
+                        .map(tombstone -> SyncResponse.Deletion.builder()
+                                .type(tombstone.getEntityType())
+                                .id(tombstone.getEntityId())
+                                .deletedAt(tombstone.getDeletedAt())
+                                .build())
+                        .toList())
+                .syncToken(next)
+                .hasMore(hasMore)
+                .fullResync(fullResync)
+                .build();
+    }
+
+    private <T> List<T> changed(String userId, Class<T> type, String field, LocalDateTime since, int limit) {
+        Query query = Query.query(Criteria.where("userId").is(userId).and(field).gte(since))
+                .with(Sort.by(Sort.Direction.ASC, field))
+                .limit(limit);
+        return mongoTemplate.find(query, type);
+    }
+
+    private <T> List<T> changedBetween(String userId, Class<T> type, String field, LocalDateTime from, LocalDateTime to) {
+        return mongoTemplate.find(Query.query(Criteria.where("userId").is(userId).and(field).gte(from).lt(to)), type);
+    }
+
+    private <T> LocalDateTime boundary(List<T> page, Function<T, LocalDateTime> timestamp, LocalDateTime cutoff) {
+        if (page.size() <= pageSize) {
+            return cutoff;
+        }
+        LocalDateTime firstExcluded = timestamp.apply(page.get(pageSize));
+        return firstExcluded.isBefore(cutoff) ? firstExcluded : cutoff;
+    }
+
+    private static <T> List<T> before(List<T> page, Function<T, LocalDateTime> timestamp, LocalDateTime cutoff) {
+        return page.stream().filter(item -> timestamp.apply(item).isBefore(cutoff)).toList();
+    }
+
+    private static String encode(LocalDateTime timestamp) {
+        long millis = timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((TOKEN_PREFIX + millis).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encodeFull(FullSyncCursor cursor) {
+        long millis = cursor.snapshot().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String value = FULL_TOKEN_PREFIX + millis + ":" + (cursor.archive() ? "a" : "h") + ":"
+                + (cursor.lastId() != null ? cursor.lastId() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String token) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+
+    private static LocalDateTime timestamp(String decoded) {
+        try {
+            if (!decoded.startsWith(TOKEN_PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+            return fromMillis(decoded.substring(TOKEN_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+
+    private static FullSyncCursor fullSyncCursor(String decoded) {
+        String[] parts = decoded.substring(FULL_TOKEN_PREFIX.length()).split(":", -1);
+        try {
+            if (parts.length != 3 || !(parts[1].equals("h") || parts[1].equals("a"))
+                    || !(parts[2].isEmpty() || ObjectId.isValid(parts[2]))) {
+                throw new IllegalArgumentException();
+            }
+            return new FullSyncCursor(fromMillis(parts[0]), parts[1].equals("a"), parts[2].isEmpty() ? null : parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+
+    private static LocalDateTime fromMillis(String millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(millis)), ZoneId.systemDefault());
+    }
+}
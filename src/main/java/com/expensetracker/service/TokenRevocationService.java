@@ -0,0 +1,101 @@
+package com.expensetracker.service;
+
+import com.expensetracker.model.RevokedTokenFamily;
+import com.expensetracker.repository.RevokedTokenFamilyRepository;
+import com.expensetracker.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of revoked token families, so that the per-request check in the JWT filter does not
+ * query MongoDB. A Bloom filter rejects almost every live family without touching the set. Revocations
+ * from other nodes are picked up by polling, and a periodic rebuild drops families whose tokens have
+ * all expired.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    // Polls look back this far past the previous one so small clock differences between nodes are harmless
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    private final RevokedTokenFamilyRepository revokedTokenFamilyRepository;
+
+    private volatile BloomFilter bloomFilter;
+    private volatile Set<String> revokedFamilies = ConcurrentHashMap.newKeySet();
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    @Value("${app.jwt.revocation.bloom-bits:1048576}")
+    private int bloomBits;
+
+    @Value("${app.jwt.revocation.bloom-hashes:4}")
+    private int bloomHashes;
+
+    @PostConstruct
+    public void init() {
+        bloomFilter = new BloomFilter(bloomBits, bloomHashes);
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Could not load revoked token families, retrying on next sync: {}", e.getMessage());
+        }
+    }
+
+    public boolean isRevoked(String familyId) {
+        return familyId != null && bloomFilter.mightContain(familyId) && revokedFamilies.contains(familyId);
+    }
+
+    public void revoke(String familyId, String userId, Instant expiresAt) {
+        revokedTokenFamilyRepository.save(RevokedTokenFamily.builder()
+                .familyId(familyId)
+                .userId(userId)
+                .revokedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build());
+        add(familyId);
+        log.info("Revoked token family {} for user {}", familyId, userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        Instant now = Instant.now();
+        revokedTokenFamilyRepository.findByRevokedAtAfter(lastSync.minusSeconds(SYNC_OVERLAP_SECONDS))
+                .forEach(revoked -> add(revoked.getFamilyId()));
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.jwt.revocation.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        Instant now = Instant.now();
+        List<RevokedTokenFamily> active = revokedTokenFamilyRepository.findByExpiresAtAfter(now);
+
+        BloomFilter filter = new BloomFilter(bloomBits, bloomHashes);
+        Set<String> families = ConcurrentHashMap.newKeySet(active.size());
+        for (RevokedTokenFamily revoked : active) {
+            filter.put(revoked.getFamilyId());
+            families.add(revoked.getFamilyId());
+        }
+
+        // Set before filter: a reader seeing the new filter must also see the new set
+        revokedFamilies = families;
+        bloomFilter = filter;
+        lastSync = now;
+        log.debug("Rebuilt token revocation filter with {} families", families.size());
+    }
+
+    private void add(String familyId) {
+        revokedFamilies.add(familyId);
+        bloomFilter.put(familyId);
+    }
+}
@@ -20,6 +20,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
 
     public UserResponse getCurrentUser(String userId) {
         User user = userRepository.findById(userId)
@@ -58,7 +59,8 @@ public class UserService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
-        log.info("Password changed for user: {}", user.getId());
+        refreshTokenService.revokeAllForUser(user.getId());
+        log.info("Password changed for user: {}, existing sessions revoked", user.getId());
     }
 
     public User getUserById(String userId) {
@@ -0,0 +1,60 @@
+package com.expensetracker.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. Lookups hash the characters in place, so a membership test
+ * allocates nothing; concurrent {@link #put(String)} calls are safe.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final int bits;
+    private final int hashes;
+
+    public BloomFilter(int bits, int hashes) {
+        this.words = new AtomicLongArray((bits + 63) >>> 6);
+        this.bits = words.length() << 6;
+        this.hashes = hashes;
+    }
+
+    public void put(String value) {
+        int h1 = value.hashCode();
+        int h2 = secondHash(value);
+        for (int i = 0; i < hashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(word)) & mask) == 0
+                    && !words.compareAndSet(word, current, current | mask)) {
+                // retry until the bit is visible
+            }
+        }
+    }
+
+    /**
+     * {@code false} means definitely absent; {@code true} means possibly present.
+     */
+    public boolean mightContain(String value) {
+        int h1 = value.hashCode();
+        int h2 = secondHash(value);
+        for (int i = 0; i < hashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int secondHash(String value) {
+        // FNV-1a; forced odd so the probe sequence never collapses onto one bit
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x01000193;
+        }
+        return hash | 1;
+    }
+}
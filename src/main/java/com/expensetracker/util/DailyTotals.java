@@ -0,0 +1,140 @@
+package com.expensetracker.util;
+
+import com.expensetracker.model.Expense;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-day spend totals for a fixed date range, built in a single pass over the expenses and held
+ * as whole minor units.
+ * Prefix sums are kept alongside so any sub-range total can be answered without rescanning,
+ * which lets comparisons and rolling windows share one fetch of the widest range.
+ */
+public final class DailyTotals {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long[] prefixAmounts;
+    private final int[] prefixCounts;
+
+    DailyTotals(LocalDate startDate, LocalDate endDate, long[] dailyAmounts, int[] dailyCounts) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.prefixAmounts = new long[dailyAmounts.length + 1];
+        this.prefixCounts = new int[dailyCounts.length + 1];
+
+        for (int i = 0; i < dailyAmounts.length; i++) {
+            prefixAmounts[i + 1] = prefixAmounts[i] + dailyAmounts[i];
+            prefixCounts[i + 1] = prefixCounts[i] + dailyCounts[i];
+        }
+    }
+
+    public static DailyTotals of(List<Expense> expenses, LocalDate startDate, LocalDate endDate) {
+        int days = days(startDate, endDate);
+        long[] dailyAmounts = new long[days];
+        int[] dailyCounts = new int[days];
+
+        for (Expense expense : expenses) {
+            int index = dayIndex(expense, startDate, endDate);
+            if (index < 0) {
+                continue;
+            }
+            dailyAmounts[index] += MinorUnits.of(expense.getAmount());
+            dailyCounts[index]++;
+        }
+
+        return new DailyTotals(startDate, endDate, dailyAmounts, dailyCounts);
+    }
+
+    /**
+     * Builds one {@code DailyTotals} per category id (uncategorized expenses under the {@code null} key)
+     * in a single pass, so per-category windows can be summed without regrouping the raw expenses.
+     */
+    public static Map<String, DailyTotals> byCategory(List<Expense> expenses, LocalDate startDate, LocalDate endDate) {
+        int days = days(startDate, endDate);
+        Map<String, long[]> dailyAmounts = new HashMap<>();
+        Map<String, int[]> dailyCounts = new HashMap<>();
+
+        for (Expense expense : expenses) {
+            int index = dayIndex(expense, startDate, endDate);
+            if (index < 0) {
+                continue;
+            }
+            String categoryId = expense.getCategoryId();
+            dailyAmounts.computeIfAbsent(categoryId, key -> new long[days])[index] += MinorUnits.of(expense.getAmount());
+            dailyCounts.computeIfAbsent(categoryId, key -> new int[days])[index]++;
+        }
+
+        Map<String, DailyTotals> totals = new HashMap<>();
+        dailyAmounts.forEach((categoryId, amounts) ->
+                totals.put(categoryId, new DailyTotals(startDate, endDate, amounts, dailyCounts.get(categoryId))));
+        return totals;
+    }
+
+    /**
+     * Sums a window for one category, or across all categories when {@code categoryId} is {@code null}.
+     */
+    public static BigDecimal sum(Map<String, DailyTotals> byCategory, String categoryId, LocalDate from, LocalDate to) {
+        if (categoryId != null) {
+            DailyTotals totals = byCategory.get(categoryId);
+            return totals != null ? totals.sum(from, to) : BigDecimal.ZERO;
+        }
+        BigDecimal sum = BigDecimal.ZERO;
+        for (DailyTotals totals : byCategory.values()) {
+            sum = sum.add(totals.sum(from, to));
+        }
+        return sum;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Total spent between {@code from} and {@code to} inclusive, clamped to the covered range.
+     */
+    public BigDecimal sum(LocalDate from, LocalDate to) {
+        int lo = boundary(from, 0);
+        int hi = boundary(to, 1);
+        return hi > lo ? MinorUnits.toAmount(prefixAmounts[hi] - prefixAmounts[lo]) : BigDecimal.ZERO;
+    }
+
+    /**
+     * Number of expenses between {@code from} and {@code to} inclusive, clamped to the covered range.
+     */
+    public int count(LocalDate from, LocalDate to) {
+        int lo = boundary(from, 0);
+        int hi = boundary(to, 1);
+        return hi > lo ? prefixCounts[hi] - prefixCounts[lo] : 0;
+    }
+
+    public BigDecimal amountOn(LocalDate date) {
+        return sum(date, date);
+    }
+
+    private static int days(LocalDate startDate, LocalDate endDate) {
+        return (int) Math.max(ChronoUnit.DAYS.between(startDate, endDate) + 1, 0);
+    }
+
+    private static int dayIndex(Expense expense, LocalDate startDate, LocalDate endDate) {
+        LocalDate date = expense.getExpenseDate();
+        if (date == null || date.isBefore(startDate) || date.isAfter(endDate)) {
+            return -1;
+        }
+        return (int) ChronoUnit.DAYS.between(startDate, date);
+    }
+
+    private int boundary(LocalDate date, int shift) {
+        long offset = ChronoUnit.DAYS.between(startDate, date) + shift;
+        return (int) Math.max(0, Math.min(offset, prefixCounts.length - 1));
+    }
+}
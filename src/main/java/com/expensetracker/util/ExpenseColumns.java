@@ -0,0 +1,245 @@
+package com.expensetracker.util;
+
+import com.expensetracker.model.Expense;
+
+import java.lang.reflect.Array;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable column-oriented snapshot of one user's expenses from {@code coverageStart} onwards,
+ * sorted by date: parallel arrays of epoch day, amount in minor units, category ordinal and
+ * payment-method ordinal. Range scans binary-search the date column and touch only primitives.
+ * Mutations return a new snapshot, so readers never need a lock.
+ */
+public final class ExpenseColumns {
+
+    /** Rough heap cost of one row, dominated by the expense id string. */
+    public static final int BYTES_PER_ROW = 96;
+
+    private final LocalDate coverageStart;
+    private final String[] ids;
+    private final int[] epochDays;
+    private final long[] amounts;
+    private final int[] categoryOrdinals;
+    private final byte[] paymentMethods;
+    private final String[] categoryIds;
+
+    private ExpenseColumns(LocalDate coverageStart, String[] ids, int[] epochDays, long[] amounts,
+            int[] categoryOrdinals, byte[] paymentMethods, String[] categoryIds) {
+        this.coverageStart = coverageStart;
+        this.ids = ids;
+        this.epochDays = epochDays;
+        this.amounts = amounts;
+        this.categoryOrdinals = categoryOrdinals;
+        this.paymentMethods = paymentMethods;
+        this.categoryIds = categoryIds;
+    }
+
+    /**
+     * Builds a snapshot from every expense dated on or after {@code coverageStart}.
+     */
+    public static ExpenseColumns of(List<Expense> expenses, LocalDate coverageStart) {
+        Expense[] rows = expenses.stream()
+                .filter(expense -> covered(expense, coverageStart))
+                .sorted((a, b) -> a.getExpenseDate().compareTo(b.getExpenseDate()))
+                .toArray(Expense[]::new);
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        String[] ids = new String[rows.length];
+        int[] epochDays = new int[rows.length];
+        long[] amounts = new long[rows.length];
+        int[] categoryOrdinals = new int[rows.length];
+        byte[] paymentMethods = new byte[rows.length];
+
+        for (int i = 0; i < rows.length; i++) {
+            Expense expense = rows[i];
+            ids[i] = expense.getId();
+            epochDays[i] = (int) expense.getExpenseDate().toEpochDay();
+            amounts[i] = MinorUnits.of(expense.getAmount());
+            categoryOrdinals[i] = dictionary.computeIfAbsent(expense.getCategoryId(), key -> dictionary.size());
+            paymentMethods[i] = (byte) SpendAccumulator.paymentMethodOrdinal(expense.getPaymentMethod());
+        }
+
+        String[] categoryIds = new String[dictionary.size()];
+        dictionary.forEach((categoryId, ordinal) -> categoryIds[ordinal] = categoryId);
+
+        return new ExpenseColumns(coverageStart, ids, epochDays, amounts, categoryOrdinals, paymentMethods, categoryIds);
+    }
+
+    public LocalDate getCoverageStart() {
+        return coverageStart;
+    }
+
+    public boolean covers(LocalDate startDate) {
+        return !startDate.isBefore(coverageStart);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long estimatedBytes() {
+        return (long) ids.length * BYTES_PER_ROW;
+    }
+
+    /**
+     * Returns a snapshot with {@code expense} inserted at its date position, replacing any row with
+     * the same id. Expenses dated before the coverage start are only removed.
+     */
+    public ExpenseColumns withExpense(Expense expense) {
+        ExpenseColumns base = withoutExpense(expense.getId());
+        if (!covered(expense, coverageStart)) {
+            return base;
+        }
+
+        int epochDay = (int) expense.getExpenseDate().toEpochDay();
+        int at = base.upperBound(epochDay);
+        int n = base.ids.length;
+
+        String[] categories = base.categoryIds;
+        int categoryOrdinal = Arrays.asList(categories).indexOf(expense.getCategoryId());
+        if (categoryOrdinal < 0) {
+            categoryOrdinal = categories.length;
+            categories = Arrays.copyOf(categories, categories.length + 1);
+            categories[categoryOrdinal] = expense.getCategoryId();
+        }
+
+        String[] ids = new String[n + 1];
+        int[] epochDays = new int[n + 1];
+        long[] amounts = new long[n + 1];
+        int[] categoryOrdinals = new int[n + 1];
+        byte[] paymentMethods = new byte[n + 1];
+        shift(base.ids, ids, at, n);
+        shift(base.epochDays, epochDays, at, n);
+        shift(base.amounts, amounts, at, n);
+        shift(base.categoryOrdinals, categoryOrdinals, at, n);
+        shift(base.paymentMethods, paymentMethods, at, n);
+
+        ids[at] = expense.getId();
+        epochDays[at] = epochDay;
+        amounts[at] = MinorUnits.of(expense.getAmount());
+        categoryOrdinals[at] = categoryOrdinal;
+        paymentMethods[at] = (byte) SpendAccumulator.paymentMethodOrdinal(expense.getPaymentMethod());
+
+        return new ExpenseColumns(coverageStart, ids, epochDays, amounts, categoryOrdinals, paymentMethods, categories);
+    }
+
+    /**
+     * Returns a snapshot without the row for {@code expenseId}, or this snapshot if there is none.
+     */
+    public ExpenseColumns withoutExpense(String expenseId) {
+        int at = Arrays.asList(ids).indexOf(expenseId);
+        if (at < 0) {
+            return this;
+        }
+
+        int n = ids.length - 1;
+        return new ExpenseColumns(coverageStart,
+                remove(ids, new String[n], at),
+                remove(epochDays, new int[n], at),
+                remove(amounts, new long[n], at),
+                remove(categoryOrdinals, new int[n], at),
+                remove(paymentMethods, new byte[n], at),
+                categoryIds);
+    }
+
+    /**
+     * Returns a snapshot without the rows for any of {@code expenseIds}, or this snapshot if there are none.
+     */
+    public ExpenseColumns withoutExpenses(Set<String> expenseIds) {
+        ExpenseColumns result = this;
+        for (String id : ids) {
+            if (expenseIds.contains(id)) {
+                result = result.withoutExpense(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Feeds every row dated between {@code from} and {@code to} inclusive into {@code spend}.
+     */
+    public void accumulate(SpendAccumulator spend, LocalDate from, LocalDate to) {
+        int lo = lowerBound((int) from.toEpochDay());
+        int hi = upperBound((int) to.toEpochDay());
+
+        int[] remap = new int[categoryIds.length];
+        Arrays.fill(remap, -1);
+
+        for (int i = lo; i < hi; i++) {
+            int category = categoryOrdinals[i];
+            if (remap[category] < 0) {
+                remap[category] = spend.categoryOrdinal(categoryIds[category]);
+            }
+            spend.add(epochDays[i], remap[category], paymentMethods[i], amounts[i]);
+        }
+    }
+
+    /**
+     * Per-day totals for {@code startDate} to {@code endDate}, equivalent to
+     * {@link DailyTotals#of(List, LocalDate, LocalDate)} over the same rows.
+     */
+    public DailyTotals dailyTotals(LocalDate startDate, LocalDate endDate) {
+        int startEpochDay = (int) startDate.toEpochDay();
+        int days = (int) Math.max(endDate.toEpochDay() - startDate.toEpochDay() + 1, 0);
+        long[] dailyAmounts = new long[days];
+        int[] dailyCounts = new int[days];
+
+        int hi = upperBound((int) endDate.toEpochDay());
+        for (int i = lowerBound(startEpochDay); i < hi; i++) {
+            dailyAmounts[epochDays[i] - startEpochDay] += amounts[i];
+            dailyCounts[epochDays[i] - startEpochDay]++;
+        }
+
+        return new DailyTotals(startDate, endDate, dailyAmounts, dailyCounts);
+    }
+
+    private int lowerBound(int epochDay) {
+        int lo = 0;
+        int hi = epochDays.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int upperBound(int epochDay) {
+        int lo = 0;
+        int hi = epochDays.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] <= epochDay) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static boolean covered(Expense expense, LocalDate coverageStart) {
+        return expense.getExpenseDate() != null && !expense.getExpenseDate().isBefore(coverageStart);
+    }
+
+    private static void shift(Object source, Object target, int at, int n) {
+        System.arraycopy(source, 0, target, 0, at);
+        System.arraycopy(source, at, target, at + 1, n - at);
+    }
+
+    private static <T> T remove(T source, T target, int at) {
+        int n = Array.getLength(source);
+        System.arraycopy(source, 0, target, 0, at);
+        System.arraycopy(source, at + 1, target, at, n - at - 1);
+        return target;
+    }
+}
@@ -22,6 +22,11 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+    public static final String CLAIM_FAMILY_ID = "fid";
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
@@ -36,20 +41,26 @@ public class JwtUtil {
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
-    public String generateToken(String userId, String email, String role) {
+    public String generateToken(String userId, String email, String role, String familyId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("email", email);
         claims.put("role", role);
-        return createToken(claims, userId, jwtExpiration);
+        claims.put(CLAIM_TOKEN_TYPE, TOKEN_TYPE_ACCESS);
+        claims.put(CLAIM_FAMILY_ID, familyId);
+        return createToken(claims, userId, null, jwtExpiration);
     }
 
-    public String generateRefreshToken(String userId) {
-        return createToken(new HashMap<>(), userId, refreshExpiration);
+    public String generateRefreshToken(String userId, String familyId, String tokenId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH);
+        claims.put(CLAIM_FAMILY_ID, familyId);
+        return createToken(claims, userId, tokenId, refreshExpiration);
     }
 
-    private String createToken(Map<String, Object> claims, String subject, Long expiration) {
+    private String createToken(Map<String, Object> claims, String subject, String tokenId, Long expiration) {
         return Jwts.builder()
                 .claims(claims)
+                .id(tokenId)
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
@@ -91,12 +102,15 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token) {
+        return parseToken(token) != null;
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or {@code null} if it is invalid or expired.
+     */
+    public Claims parseToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return extractAllClaims(token);
         } catch (SignatureException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -108,10 +122,14 @@ public class JwtUtil {
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 
     public Long getJwtExpiration() {
         return jwtExpiration;
     }
+
+    public Long getRefreshExpiration() {
+        return refreshExpiration;
+    }
 }
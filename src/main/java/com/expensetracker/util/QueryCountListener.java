@@ -0,0 +1,112 @@
+package com.expensetracker.util;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.util.Set;
+
+/**
+ * Feeds the current thread's {@link QueryCountScope}. Does nothing, beyond one ThreadLocal read, for
+ * commands issued outside a scope.
+ */
+public class QueryCountListener implements CommandListener {
+
+    // Cursor continuation and session plumbing repeat legitimately; they are counted but not shaped
+    private static final Set<String> UNSHAPED_COMMANDS = Set.of("getMore", "killCursors", "endSessions", "hello", "isMaster");
+
+    private static final Set<String> IGNORED_FIELDS = Set.of("$db", "lsid", "$clusterTime", "txnNumber",
+            "readConcern", "writeConcern", "$readPreference", "batchSize", "limit", "skip", "cursor", "ordered",
+            "maxTimeMS", "comment", "apiVersion", "startTransaction", "autocommit");
+
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        QueryCountScope scope = QueryCountScope.current();
+        if (scope == null) {
+            return;
+        }
+        String name = event.getCommandName();
+        String shape = UNSHAPED_COMMANDS.contains(name) ? null : shape(name, event.getCommand());
+        scope.recordCommand(shape, size(event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        QueryCountScope scope = QueryCountScope.current();
+        if (scope != null) {
+            scope.recordReply(size(event.getResponse()));
+        }
+    }
+
+    /**
+     * Command name, collection and the structure of everything else with values replaced by "?",
+     * so find-by-id for different ids produces the same shape.
+     */
+    static String shape(String commandName, BsonDocument command) {
+        BsonValue collection = command.get(commandName);
+        StringBuilder shape = new StringBuilder(commandName);
+        if (collection != null && collection.isString()) {
+            shape.append(' ').append(collection.asString().getValue());
+        }
+        shape.append(' ');
+        appendShape(shape, command, commandName);
+        return shape.toString();
+    }
+
+    private static void appendShape(StringBuilder shape, BsonValue value, String skipKey) {
+        if (value.isDocument()) {
+            shape.append('{');
+            boolean first = true;
+            for (var entry : value.asDocument().entrySet()) {
+                if (entry.getKey().equals(skipKey) || IGNORED_FIELDS.contains(entry.getKey())) {
+                    continue;
+                }
+                if (!first) {
+                    shape.append(',');
+                }
+                first = false;
+                shape.append(entry.getKey()).append(':');
+                appendShape(shape, entry.getValue(), null);
+            }
+            shape.append('}');
+        } else if (value.isArray()) {
+            BsonArray array = value.asArray();
+            shape.append('[');
+            if (!array.isEmpty() && (array.get(0).isDocument() || array.get(0).isArray())) {
+                // Pipelines keep every stage; batches of documents collapse to the first one
+                int stages = array.get(0).isDocument() && isPipeline(array) ? array.size() : 1;
+                for (int i = 0; i < stages; i++) {
+                    if (i > 0) {
+                        shape.append(',');
+                    }
+                    appendShape(shape, array.get(i), null);
+                }
+            } else if (!array.isEmpty()) {
+                shape.append('?');
+            }
+            shape.append(']');
+        } else {
+            shape.append('?');
+        }
+    }
+
+    private static boolean isPipeline(BsonArray array) {
+        BsonDocument first = array.get(0).asDocument();
+        return first.size() == 1 && first.getFirstKey().startsWith("$");
+    }
+
+    private static int size(BsonDocument document) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        CODEC.encode(new BsonBinaryWriter(buffer), document, EncoderContext.builder().build());
+        return buffer.getPosition();
+    }
+}
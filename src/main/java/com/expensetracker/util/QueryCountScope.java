@@ -0,0 +1,116 @@
+package com.expensetracker.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the MongoDB commands issued on the current thread while open, with the bytes sent and
+ * received and how often each query shape repeated. Scopes nest; a command counts toward every open
+ * scope. Filled in by {@link QueryCountListener}, which sees commands of the synchronous driver only.
+ * <p>
+ * Tests can pin the cost of an operation:
+ * <pre>
+ * try (QueryCountScope scope = QueryCountScope.open()) {
+ *     expenseService.getAllExpenses(...);
+ *     scope.assertAtMost(3);
+ * }
+ * </pre>
+ */
+public final class QueryCountScope implements AutoCloseable {
+
+    private static final ThreadLocal<QueryCountScope> CURRENT = new ThreadLocal<>();
+
+    private final QueryCountScope parent;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+    private int commands;
+    private long bytesSent;
+    private long bytesReceived;
+    private boolean closed;
+
+    private QueryCountScope(QueryCountScope parent) {
+        this.parent = parent;
+    }
+
+    public static QueryCountScope open() {
+        QueryCountScope scope = new QueryCountScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * The innermost open scope on this thread, or null.
+     */
+    public static QueryCountScope current() {
+        return CURRENT.get();
+    }
+
+    void recordCommand(String shape, int bytes) {
+        for (QueryCountScope scope = this; scope != null; scope = scope.parent) {
+            scope.commands++;
+            scope.bytesSent += bytes;
+            if (shape != null) {
+                scope.shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+    }
+
+    void recordReply(int bytes) {
+        for (QueryCountScope scope = this; scope != null; scope = scope.parent) {
+            scope.bytesReceived += bytes;
+        }
+    }
+
+    public int getCommands() {
+        return commands;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Query shapes, with values stripped, issued at least {@code threshold} times: the usual signature
+     * of a lookup inside a loop.
+     */
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count >= threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return Collections.unmodifiableMap(repeated);
+    }
+
+    public void assertAtMost(int maxCommands) {
+        if (commands > maxCommands) {
+            throw new AssertionError("Expected at most " + maxCommands + " MongoDB commands but " + commands
+                    + " were issued: " + shapes);
+        }
+    }
+
+    public void assertNoRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = repeatedShapes(threshold);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("Query shapes repeated " + threshold + " or more times: " + repeated);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
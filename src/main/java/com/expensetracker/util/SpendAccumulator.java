@@ -0,0 +1,206 @@
+package com.expensetracker.util;
+
+import com.expensetracker.model.Expense;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single-pass spend aggregation over a date range into primitive {@code long} minor-unit arrays,
+ * indexed by dense category, month and payment-method ordinals. Nothing is boxed or bucketed per
+ * expense; callers convert to BigDecimal via {@link MinorUnits#toAmount(long)} when building responses.
+ */
+public final class SpendAccumulator {
+
+    public static final String UNCATEGORIZED = "uncategorized";
+
+    private static final Expense.PaymentMethod[] PAYMENT_METHODS = Expense.PaymentMethod.values();
+    private static final int UNKNOWN_PAYMENT_METHOD = PAYMENT_METHODS.length;
+
+    private final long startEpochDay;
+    private final long endEpochDay;
+    private final YearMonth firstMonth;
+    private final long[] monthStartEpochDays;
+    private final long[] monthTotals;
+    private final int[] monthCounts;
+
+    private final long[] paymentMethodTotals = new long[PAYMENT_METHODS.length + 1];
+    private final int[] paymentMethodCounts = new int[PAYMENT_METHODS.length + 1];
+
+    private final Map<String, Integer> categoryOrdinals = new HashMap<>();
+    private String[] categoryIds = new String[16];
+    private long[] categoryTotals = new long[16];
+    private int[] categoryCounts = new int[16];
+
+    private long total;
+    private int count;
+    private long highest = Long.MIN_VALUE;
+    private long lowest = Long.MAX_VALUE;
+
+    public SpendAccumulator(LocalDate startDate, LocalDate endDate) {
+        this.startEpochDay = startDate.toEpochDay();
+        this.endEpochDay = endDate.toEpochDay();
+        this.firstMonth = YearMonth.from(startDate);
+
+        int months = endDate.isBefore(startDate)
+                ? 0
+                : (int) ChronoUnit.MONTHS.between(firstMonth, YearMonth.from(endDate)) + 1;
+        this.monthStartEpochDays = new long[months];
+        for (int i = 0; i < months; i++) {
+            monthStartEpochDays[i] = firstMonth.plusMonths(i).atDay(1).toEpochDay();
+        }
+        this.monthTotals = new long[months];
+        this.monthCounts = new int[months];
+    }
+
+    public SpendAccumulator addAll(Iterable<Expense> expenses) {
+        for (Expense expense : expenses) {
+            add(expense);
+        }
+        return this;
+    }
+
+    public void add(Expense expense) {
+        if (expense.getExpenseDate() == null) {
+            return;
+        }
+        add(expense.getExpenseDate().toEpochDay(),
+                categoryOrdinal(expense.getCategoryId()),
+                paymentMethodOrdinal(expense.getPaymentMethod()),
+                MinorUnits.of(expense.getAmount()));
+    }
+
+    /**
+     * Adds one expense already reduced to primitives; rows outside the range are ignored.
+     */
+    public void add(long epochDay, int categoryOrdinal, int paymentMethodOrdinal, long amount) {
+        if (addGroup(epochDay, categoryOrdinal, paymentMethodOrdinal, amount, 1)) {
+            includeExtremes(amount, amount);
+        }
+    }
+
+    /**
+     * Adds {@code count} pre-aggregated expenses totalling {@code amount}, such as one cell of an archived
+     * monthly summary. Highest and lowest are left alone; see {@link #includeExtremes(long, long)}.
+     *
+     * @return whether the day falls inside the range
+     */
+    public boolean addGroup(long epochDay, int categoryOrdinal, int paymentMethodOrdinal, long amount, int count) {
+        if (epochDay < startEpochDay || epochDay > endEpochDay) {
+            return false;
+        }
+
+        int month = Arrays.binarySearch(monthStartEpochDays, epochDay);
+        if (month < 0) {
+            month = -month - 2;
+        }
+
+        total += amount;
+        this.count += count;
+        monthTotals[month] += amount;
+        monthCounts[month] += count;
+        categoryTotals[categoryOrdinal] += amount;
+        categoryCounts[categoryOrdinal] += count;
+        paymentMethodTotals[paymentMethodOrdinal] += amount;
+        paymentMethodCounts[paymentMethodOrdinal] += count;
+        return true;
+    }
+
+    public void includeExtremes(long highestAmount, long lowestAmount) {
+        highest = Math.max(highest, highestAmount);
+        lowest = Math.min(lowest, lowestAmount);
+    }
+
+    /**
+     * Dense ordinal for a category id, assigned on first sight; {@code null} maps to {@link #UNCATEGORIZED}.
+     */
+    public int categoryOrdinal(String categoryId) {
+        String key = categoryId != null ? categoryId : UNCATEGORIZED;
+        Integer ordinal = categoryOrdinals.get(key);
+        if (ordinal != null) {
+            return ordinal;
+        }
+
+        int next = categoryOrdinals.size();
+        if (next == categoryIds.length) {
+            categoryIds = Arrays.copyOf(categoryIds, next * 2);
+            categoryTotals = Arrays.copyOf(categoryTotals, next * 2);
+            categoryCounts = Arrays.copyOf(categoryCounts, next * 2);
+        }
+        categoryIds[next] = key;
+        categoryOrdinals.put(key, next);
+        return next;
+    }
+
+    public static int paymentMethodOrdinal(Expense.PaymentMethod paymentMethod) {
+        return paymentMethod != null ? paymentMethod.ordinal() : UNKNOWN_PAYMENT_METHOD;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getHighest() {
+        return count > 0 ? highest : 0L;
+    }
+
+    public long getLowest() {
+        return count > 0 ? lowest : 0L;
+    }
+
+    public int getCategoryCount() {
+        return categoryOrdinals.size();
+    }
+
+    public String getCategoryId(int ordinal) {
+        return categoryIds[ordinal];
+    }
+
+    public long getCategoryTotal(int ordinal) {
+        return categoryTotals[ordinal];
+    }
+
+    public int getCategoryExpenseCount(int ordinal) {
+        return categoryCounts[ordinal];
+    }
+
+    public int getMonthCount() {
+        return monthTotals.length;
+    }
+
+    public YearMonth getMonth(int index) {
+        return firstMonth.plusMonths(index);
+    }
+
+    public long getMonthTotal(int index) {
+        return monthTotals[index];
+    }
+
+    public int getMonthExpenseCount(int index) {
+        return monthCounts[index];
+    }
+
+    public int getPaymentMethodCount() {
+        return paymentMethodTotals.length;
+    }
+
+    public String getPaymentMethodName(int ordinal) {
+        return ordinal < PAYMENT_METHODS.length ? PAYMENT_METHODS[ordinal].name() : "UNKNOWN";
+    }
+
+    public long getPaymentMethodTotal(int ordinal) {
+        return paymentMethodTotals[ordinal];
+    }
+
+    public int getPaymentMethodExpenseCount(int ordinal) {
+        return paymentMethodCounts[ordinal];
+    }
+}